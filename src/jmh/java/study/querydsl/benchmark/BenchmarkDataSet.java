@@ -0,0 +1,84 @@
+package study.querydsl.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 + 내장 H2 데이터 <br/>
+ * - 웹서버 없이 QuerydslApplication을 띄우고 메모리 H2(jdbc:h2:mem)를 사용한다. <br/>
+ * - 측정값에 영향을 주는 P6Spy 래핑, SQL 모니터링, 하이버네이트 통계는 끈다. <br/>
+ * - 데이터는 H2 SYSTEM_RANGE로 한번에 생성한다. (팀 10개, 회원 memberCount명, 나이 0~99) <br/>
+ * - startServer : 부하 테스트용으로 임의 포트(server.port=0)에 내장 톰캣을 함께 띄운다.
+ */
+public final class BenchmarkDataSet {
+    public static final int TEAM_COUNT = 10;
+
+    private BenchmarkDataSet() {
+    }
+
+    public static ConfigurableApplicationContext start(int memberCount, String... args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments(args));
+        load(context.getBean(DataSource.class), memberCount);
+        return context;
+    }
+
+    public static ConfigurableApplicationContext startServer(int memberCount, String... args) {
+        String[] serverArgs = new String[args.length + 1];
+        serverArgs[0] = "--server.port=0";
+        System.arraycopy(args, 0, serverArgs, 1, args.length);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(arguments(serverArgs));
+        load(context.getBean(DataSource.class), memberCount);
+        return context;
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    static String[] arguments(String... args) {
+        String[] defaults = {
+                "--spring.profiles.active=bench", // local 프로필(InitMember)을 사용하지 않는다.
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--decorator.datasource.enabled=false",
+                "--querydsl.sql-monitor.enabled=false",
+                "--logging.level.root=warn"
+        };
+        String[] result = new String[defaults.length + args.length];
+        System.arraycopy(defaults, 0, result, 0, defaults.length);
+        System.arraycopy(args, 0, result, defaults.length, args.length); // 뒤에 오는 인자가 우선한다.
+        return result;
+    }
+
+    /**
+     * 팀/회원 데이터 생성 <br/>
+     * 식별자를 직접 넣었으므로 이후 엔티티 저장이 충돌하지 않도록 시퀀스를 재시작한다.
+     */
+    public static void load(DataSource dataSource, int memberCount) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("delete from member");
+            statement.execute("delete from team");
+            statement.execute("insert into team (team_id, name) select x, 'team' || x from system_range(1, " + TEAM_COUNT + ")");
+            statement.execute("insert into member (member_id, username, age, team_id)"
+                    + " select x, 'Member' || x, mod(x, 100), mod(x, " + TEAM_COUNT + ") + 1 from system_range(1, " + memberCount + ")");
+            statement.execute("alter sequence hibernate_sequence restart with " + (memberCount + TEAM_COUNT + 1));
+        } catch (SQLException e) {
+            throw new IllegalStateException("벤치마크 데이터 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 대량 변경/삭제 방식별 벤치마크 <br/>
+ * 회원 MEMBER_COUNT명 중 임의 위치의 연속된 rows명의 나이를 1 증가시키거나 삭제한다. <br/>
+ * 1) dirtyChecking : 엔티티 조회 후 값 변경 -> flush시 변경감지로 행마다 update <br/>
+ * 2) dirtyCheckingJdbcBatch : 1)과 같지만 세션 JDBC 배치 크기(JDBC_BATCH_SIZE)를 지정 <br/>
+ * 3) querydslBulk : update(member).set(member.age, member.age.add(1)) 한 문장 (BulkOperationStateTest.bulkAdd) <br/>
+ * 4) querydslBulkResync : 이미 조회한 엔티티가 있는 상태에서 3) 실행 후 영속성 컨텍스트 재동기화 (em.clear() + 재조회) <br/>
+ * 5) jdbcBatch : JdbcTemplate.batchUpdate (식별자별 update, 영속성 컨텍스트 우회) <br/>
+ * 삭제도 같은 방식(em.remove / delete(member) / JDBC 배치)으로 측정한다. <br/>
+ * 데이터를 유지하기 위해 매 호출을 트랜잭션으로 묶고 flush 후 롤백한다. (롤백 비용은 모든 방식에 포함) <br/>
+ * 결과는 호출(rows건)당 값이므로 방식간 비교는 같은 rows끼리 한다.
+ */
+@State(Scope.Benchmark)
+public class BulkWriteBenchmark {
+    static final int MEMBER_COUNT = 100_000;
+    static final int JDBC_BATCH_SIZE = 100;
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.start(MEMBER_COUNT);
+        em = context.getBean(EntityManager.class); // 트랜잭션에 묶인 공유 EntityManager
+        jdbcTemplate = context.getBean(JdbcTemplate.class); // JpaTransactionManager가 같은 커넥션을 바인딩한다.
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /* ===== update ===== */
+
+    @Benchmark
+    public long dirtyChecking() {
+        return inRollbackTransaction(startId -> {
+            List<Member> members = findMembers(startId);
+            members.forEach(findMember -> findMember.setAge(findMember.getAge() + 1));
+            em.flush();
+            return members.size();
+        });
+    }
+
+    @Benchmark
+    public long dirtyCheckingJdbcBatch() {
+        return inRollbackTransaction(startId -> {
+            em.unwrap(Session.class).setJdbcBatchSize(JDBC_BATCH_SIZE);
+            List<Member> members = findMembers(startId);
+            members.forEach(findMember -> findMember.setAge(findMember.getAge() + 1));
+            em.flush();
+            return members.size();
+        });
+    }
+
+    @Benchmark
+    public long querydslBulk() {
+        return inRollbackTransaction(startId -> new JPAQueryFactory(em)
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.id.gt(startId), member.id.loe(startId + rows))
+                .execute());
+    }
+
+    @Benchmark
+    public long querydslBulkResync() {
+        return inRollbackTransaction(startId -> {
+            findMembers(startId); // 요청 처리 중 이미 조회한 엔티티
+            long count = new JPAQueryFactory(em)
+                    .update(member)
+                    .set(member.age, member.age.add(1))
+                    .where(member.id.gt(startId), member.id.loe(startId + rows))
+                    .execute();
+            em.clear(); // 벌크 연산은 영속성 컨텍스트를 건너뛰므로 버리고
+            findMembers(startId); // 변경된 값으로 다시 조회
+            return count;
+        });
+    }
+
+    @Benchmark
+    public long jdbcBatch() {
+        return inRollbackTransaction(startId -> sum(jdbcTemplate.batchUpdate(
+                "update member set age = age + 1 where member_id = ?",
+                ids(startId), JDBC_BATCH_SIZE,
+                (ps, id) -> ps.setLong(1, id))));
+    }
+
+    /* ===== delete ===== */
+
+    @Benchmark
+    public long dirtyDelete() {
+        return inRollbackTransaction(startId -> {
+            List<Member> members = findMembers(startId);
+            members.forEach(em::remove);
+            em.flush();
+            return members.size();
+        });
+    }
+
+    @Benchmark
+    public long querydslBulkDelete() {
+        return inRollbackTransaction(startId -> new JPAQueryFactory(em)
+                .delete(member)
+                .where(member.id.gt(startId), member.id.loe(startId + rows))
+                .execute());
+    }
+
+    @Benchmark
+    public long jdbcBatchDelete() {
+        return inRollbackTransaction(startId -> sum(jdbcTemplate.batchUpdate(
+                "delete from member where member_id = ?",
+                ids(startId), JDBC_BATCH_SIZE,
+                (ps, id) -> ps.setLong(1, id))));
+    }
+
+    private List<Member> findMembers(long startId) {
+        return new JPAQueryFactory(em)
+                .selectFrom(member)
+                .where(member.id.gt(startId), member.id.loe(startId + rows))
+                .fetch();
+    }
+
+    private List<Long> ids(long startId) {
+        return LongStream.rangeClosed(startId + 1, startId + rows).boxed()
+                .collect(Collectors.toList());
+    }
+
+    private static long sum(int[][] counts) {
+        long sum = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                sum += count;
+            }
+        }
+        return sum;
+    }
+
+    /** 임의의 시작 식별자로 트랜잭션 안에서 실행하고 롤백한다. */
+    private long inRollbackTransaction(LongFunction<Number> work) {
+        long startId = ThreadLocalRandom.current().nextLong(MEMBER_COUNT - rows);
+        Long result = transactionTemplate.execute(status -> {
+            long count = work.apply(startId).longValue();
+            status.setRollbackOnly();
+            return count;
+        });
+        return result != null ? result : 0;
+    }
+}
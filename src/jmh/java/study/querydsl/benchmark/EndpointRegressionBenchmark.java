@@ -0,0 +1,69 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 회귀 감지용 빠른 API 벤치마크 (./gradlew jmhRegression, RegressionBenchmark와 함께 실행) <br/>
+ * 내장 톰캣(임의 포트)에 회원 검색 API를 띄우고 HTTP로 호출한다. -> 컨트롤러, 바인딩, JSON 직렬화까지 포함한 요청 1건당 처리량 <br/>
+ * 1) searchMemberV1 : /v1/members (검색 조건, 페이징 없음) <br/>
+ * 2) searchMemberV3 : /v3/members (검색 조건 + 페이징, content/count 분리) <br/>
+ * 3) teamSummary : /v1/teams/summary (집계, 캐시) <br/>
+ * 연산당 할당량(gc.alloc.rate.norm)에는 같은 JVM의 HTTP 클라이언트 할당도 포함된다. (기준값과 같은 조건으로만 비교)
+ */
+@State(Scope.Benchmark)
+public class EndpointRegressionBenchmark {
+    static final int MEMBER_COUNT = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.startServer(MEMBER_COUNT);
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + BenchmarkDataSet.port(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String searchMemberV1() throws IOException, InterruptedException {
+        return get("/v1/members?teamName=team3&ageGoe=20&ageLoe=21");
+    }
+
+    @Benchmark
+    public String searchMemberV3() throws IOException, InterruptedException {
+        return get("/v3/members?teamName=team3&ageGoe=20&ageLoe=40&page=" + ThreadLocalRandom.current().nextInt(10) + "&size=20");
+    }
+
+    @Benchmark
+    public String teamSummary() throws IOException, InterruptedException {
+        return get("/v1/teams/summary");
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " -> " + response.statusCode());
+        }
+        return response.body();
+    }
+}
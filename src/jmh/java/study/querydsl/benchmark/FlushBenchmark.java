@@ -0,0 +1,76 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * flush 비용 벤치마크 (하이버네이트 바이트코드 향상 비교) <br/>
+ * 영속성 컨텍스트에 회원 managed명을 올려둔 상태에서 <br/>
+ * 1) flushOneDirty : 1명의 나이만 바꾸고 flush (update 1건) <br/>
+ * 2) flushNoneDirty : 아무것도 바꾸지 않고 flush (update 없음) <br/>
+ * 향상 미적용(스냅샷 비교)은 관리 엔티티 수에 비례하여 느려지고, 향상 적용(enableDirtyTracking)은 변경된 엔티티만 비교하므로 거의 일정하다. <br/>
+ * 비교 : ./gradlew jmh -Pjmh.includes=FlushBenchmark  /  ./gradlew jmh -Pjmh.includes=FlushBenchmark -PhibernateEnhance=false <br/>
+ * 반복(iteration)마다 트랜잭션을 열고 회원을 조회한 뒤, 끝나면 롤백한다.
+ */
+@State(Scope.Benchmark)
+public class FlushBenchmark {
+    static final int MEMBER_COUNT = 100_000;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int managed;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private List<Member> members;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.start(MEMBER_COUNT);
+        emf = context.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void load() {
+        em = emf.createEntityManager();
+        em.getTransaction().begin();
+        members = em.createQuery("select m from Member m order by m.id", Member.class)
+                .setMaxResults(managed)
+                .getResultList();
+    }
+
+    @TearDown(Level.Iteration)
+    public void rollback() {
+        em.getTransaction().rollback();
+        em.close();
+    }
+
+    @Benchmark
+    public void flushOneDirty() {
+        Member member = members.get(ThreadLocalRandom.current().nextInt(members.size()));
+        member.setAge(member.getAge() + 1);
+        em.flush();
+    }
+
+    @Benchmark
+    public void flushNoneDirty() {
+        em.flush();
+    }
+}
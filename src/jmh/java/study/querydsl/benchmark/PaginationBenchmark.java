@@ -0,0 +1,106 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 페이징 방식별 벤치마크 <br/>
+ * 조건 : 나이 10~60 (약 51%), 페이지 크기 SIZE, 페이지 깊이 pageDepth <br/>
+ * 1) offsetPage : searchComplex (offset/limit + 조건부 count) <br/>
+ * 2) fetchResultsPage : searchPageSimple (fetchResults, content + count 항상 실행) <br/>
+ * 3) applyPaginationPage : Querydsl4RepositorySupport.applyPagination <br/>
+ * 4) keysetContent : 키셋(no offset), 같은 깊이의 마지막 식별자부터 조회 (count 없음) <br/>
+ * 5) deferredJoinPage : 식별자만 offset 페이징 후 IN 절로 DTO 조회 <br/>
+ * 6) countOnly : count 쿼리 단독 비용 <br/>
+ * 각 호출은 읽기 전용 트랜잭션 하나에서 실행한다. (요청 1건과 동일)
+ */
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+    static final int SIZE = 20;
+
+    @Param({"100000", "1000000"})
+    public int memberCount;
+
+    @Param({"0", "100", "1000"})
+    public int pageDepth;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberQueryRepository memberQueryRepository;
+    private TransactionTemplate transactionTemplate;
+    private MemberSearchCondition condition;
+    private PageRequest pageRequest;
+    private long lastMemberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.start(memberCount);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberQueryRepository = context.getBean(MemberQueryRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(60);
+        pageRequest = PageRequest.of(pageDepth, SIZE);
+        // 나이 = 식별자 mod 100 이므로 조건에 맞는 회원은 대략 2건 중 1건 -> 같은 깊이의 마지막 식별자
+        lastMemberId = (long) pageDepth * SIZE * 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> offsetPage() {
+        return inTransaction(() -> memberRepository.searchComplex(condition, pageRequest));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> fetchResultsPage() {
+        return inTransaction(() -> memberRepository.searchPageSimple(condition, pageRequest));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> applyPaginationPage() {
+        return inTransaction(() -> memberQueryRepository.searchPageByApplyPagination(condition, pageRequest));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> keysetContent() {
+        return inTransaction(() -> memberQueryRepository.searchByKeyset(condition, lastMemberId, SIZE));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> deferredJoinPage() {
+        return inTransaction(() -> memberQueryRepository.searchPageByDeferredJoin(condition, pageRequest));
+    }
+
+    @Benchmark
+    public long countOnly() {
+        return inTransaction(() -> memberQueryRepository.count(condition));
+    }
+
+    private <T> T inTransaction(Supplier<T> supplier) {
+        return transactionTemplate.execute(status -> supplier.get());
+    }
+}
@@ -0,0 +1,124 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.dto.UserDto;
+import study.querydsl.entity.QMember;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 프로젝션 방식별 벤치마크 (ProjectionStateTest의 방식들) <br/>
+ * 내장 H2에 회원 memberCount명을 넣고, 매 호출마다 임의 위치에서 ROWS건을 조회한다. (PK 범위 조건) <br/>
+ * OperationsPerInvocation = ROWS 이므로 처리량/지연시간/할당량(gc 프로파일러)은 모두 "행 1건당" 값이다. <br/>
+ * UserDto는 기본 생성자가 없어 Projections.fields/bean을 쓸 수 없으므로 별칭 + 서브쿼리 케이스는 constructor로 측정한다.
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(ProjectionBenchmark.ROWS)
+public class ProjectionBenchmark {
+    static final int ROWS = 1_000;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory emf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.start(memberCount);
+        emf = context.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberDto> bean() {
+        return fetch(queryFactory -> queryFactory
+                .select(Projections.bean(MemberDto.class, member.username, member.age))
+                .from(member));
+    }
+
+    @Benchmark
+    public List<MemberDto> fields() {
+        return fetch(queryFactory -> queryFactory
+                .select(Projections.fields(MemberDto.class, member.username, member.age))
+                .from(member));
+    }
+
+    @Benchmark
+    public List<MemberDto> constructor() {
+        return fetch(queryFactory -> queryFactory
+                .select(Projections.constructor(MemberDto.class, member.username, member.age))
+                .from(member));
+    }
+
+    @Benchmark
+    public List<MemberDto> queryProjection() {
+        return fetch(queryFactory -> queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member));
+    }
+
+    @Benchmark
+    public List<Tuple> tuple() {
+        return fetch(queryFactory -> queryFactory
+                .select(member.username, member.age)
+                .from(member));
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoAliasSubQuery() {
+        QMember memberSub = new QMember("memberSub");
+        return fetch(queryFactory -> queryFactory
+                .select(Projections.constructor(
+                        UserDto.class,
+                        member.username.as("name"),
+                        ExpressionUtils.as(
+                                JPAExpressions
+                                        .select(memberSub.age.max())
+                                        .from(memberSub)
+                                , "age")
+                ))
+                .from(member));
+    }
+
+    /** 임의의 시작 식별자부터 ROWS건 조회 (요청마다 새 EntityManager) */
+    private <T> List<T> fetch(Function<JPAQueryFactory, JPAQuery<T>> query) {
+        long startId = ThreadLocalRandom.current().nextLong(Math.max(1, memberCount - ROWS));
+        EntityManager em = emf.createEntityManager();
+        try {
+            return query.apply(new JPAQueryFactory(em))
+                    .where(member.id.gt(startId))
+                    .orderBy(member.id.asc())
+                    .limit(ROWS)
+                    .fetch();
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.MemberPredicates.teamNameEq;
+
+/**
+ * 쿼리 생성 비용 벤치마크 (DB 불필요) <br/>
+ * 1) 조건 생성 : BooleanBuilder(searchByBuilder) vs BooleanExpression 조합(searchByWhereCondition, ageBetween) <br/>
+ * 2) QMemberTeamDto 프로젝션 생성 <br/>
+ * 3) JPQL 직렬화 : EntityManager 없이 JPAQuery.toString() -> JPQLSerializer(JPQLTemplates.DEFAULT) <br/>
+ * shape : MemberSearchCondition 4개 필드(username, teamName, ageGoe, ageLoe) 유무 조합 16가지 (비트마스크)
+ */
+@State(Scope.Thread)
+public class QueryBuildingBenchmark {
+
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15"})
+    public int shape;
+
+    private MemberSearchCondition condition;
+
+    @Setup
+    public void setUp() {
+        condition = new MemberSearchCondition();
+        if ((shape & 1) != 0) {
+            condition.setUsername("Member31");
+        }
+        if ((shape & 2) != 0) {
+            condition.setTeamName("teamB");
+        }
+        if ((shape & 4) != 0) {
+            condition.setAgeGoe(31);
+        }
+        if ((shape & 8) != 0) {
+            condition.setAgeLoe(35);
+        }
+    }
+
+    @Benchmark
+    public BooleanBuilder predicateByBuilder() {
+        BooleanBuilder builder = new BooleanBuilder();
+        if (StringUtils.hasText(condition.getUsername())) {
+            builder.and(member.username.eq(condition.getUsername()));
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            builder.and(teamNameEq(condition.getTeamName()));
+        }
+        if (condition.getAgeGoe() != null) {
+            builder.and(member.age.goe(condition.getAgeGoe()));
+        }
+        if (condition.getAgeLoe() != null) {
+            builder.and(member.age.loe(condition.getAgeLoe()));
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public Predicate[] predicateByExpression() {
+        return new Predicate[]{
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
+        };
+    }
+
+    @Benchmark
+    public QMemberTeamDto projection() {
+        return new QMemberTeamDto(
+                member.id.as("memberId"),
+                member.username,
+                member.age,
+                team.id.as("teamId"),
+                team.name.as("teamName")
+        );
+    }
+
+    @Benchmark
+    public String jpqlByBuilder() {
+        return new JPAQuery<MemberTeamDto>()
+                .select(projection())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(predicateByBuilder())
+                .toString();
+    }
+
+    @Benchmark
+    public String jpqlByExpression() {
+        return new JPAQuery<MemberTeamDto>()
+                .select(projection())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(predicateByExpression())
+                .toString();
+    }
+
+    /* MemberJpaRepositroy의 조건 메소드와 동일 */
+    private BooleanExpression ageBetween(Integer ageGoe, Integer ageLoe) {
+        if (ageGoe == null) {
+            return ageLoe(ageLoe);
+        }
+        if (ageLoe == null) {
+            return ageGoe(ageGoe);
+        }
+        return ageGoe(ageGoe).and(ageLoe(ageLoe));
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return StringUtils.hasText(username) ? member.username.eq(username): null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
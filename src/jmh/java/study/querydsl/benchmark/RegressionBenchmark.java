@@ -0,0 +1,95 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회귀 감지용 빠른 벤치마크 (./gradlew jmhRegression) <br/>
+ * 기준값(src/jmh/baseline/regression.json)과 처리량, 연산당 할당량을 비교하므로 데이터와 케이스를 작게 고정한다. <br/>
+ * 1) searchComplex : 검색 조건 + 페이징 (content + count) <br/>
+ * 2) bulkAddAge : Querydsl 벌크 update (BulkOperationStateTest.bulkAdd), 회원 ROWS명 범위 <br/>
+ * 3) queryProjection : @QueryProjection DTO ROWS건 조회 <br/>
+ * 케이스를 바꾸면 기준값도 다시 기록해야 한다. (./gradlew jmhBaseline)
+ */
+@State(Scope.Benchmark)
+public class RegressionBenchmark {
+    static final int MEMBER_COUNT = 10_000;
+    static final int ROWS = 100;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private EntityManager em;
+    private TransactionTemplate transactionTemplate;
+    private MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataSet.start(MEMBER_COUNT);
+        memberRepository = context.getBean(MemberRepository.class);
+        em = context.getBean(EntityManager.class); // 트랜잭션에 묶인 공유 EntityManager
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        condition = new MemberSearchCondition();
+        condition.setTeamName("team3");
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(40);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchComplex() {
+        return transactionTemplate.execute(status ->
+                memberRepository.searchComplex(condition, PageRequest.of(ThreadLocalRandom.current().nextInt(10), 20)));
+    }
+
+    @Benchmark
+    public Long bulkAddAge() {
+        long startId = ThreadLocalRandom.current().nextLong(MEMBER_COUNT - ROWS);
+        return transactionTemplate.execute(status -> {
+            long count = new JPAQueryFactory(em)
+                    .update(member)
+                    .set(member.age, member.age.add(1))
+                    .where(member.id.gt(startId), member.id.loe(startId + ROWS))
+                    .execute();
+            em.clear();
+            return count;
+        });
+    }
+
+    @Benchmark
+    public List<MemberDto> queryProjection() {
+        long startId = ThreadLocalRandom.current().nextLong(MEMBER_COUNT - ROWS);
+        return transactionTemplate.execute(status -> new JPAQueryFactory(em)
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .where(member.id.gt(startId))
+                .orderBy(member.id.asc())
+                .limit(ROWS)
+                .fetch());
+    }
+}
@@ -0,0 +1,69 @@
+package study.querydsl.loadtest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 내부 동시 처리 요청 수 표본 <br/>
+ * DB까지 들어온 요청 수 = 커넥션 사용 중(hikaricp.connections.active) + 커넥션 대기 중(hikaricp.connections.pending) <br/>
+ * 플랫폼 스레드는 톰캣 스레드 수(기본 200)를 넘지 못하고 나머지는 accept 대기열에 쌓이므로,
+ * 가상 스레드 모드와 비교하면 같은 클라이언트 스레드 수에서 서버가 동시에 받아들인 요청 수 차이가 드러난다.
+ */
+public class InFlightSampler {
+    private static final long INTERVAL_MILLIS = 10;
+
+    private final Gauge active;
+    private final Gauge pending;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-flight-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long measureFrom;
+    private long samples;
+    private long sum;
+    private long peak;
+
+    public InFlightSampler(MeterRegistry meterRegistry) {
+        this.active = meterRegistry.find("hikaricp.connections.active").gauge();
+        this.pending = meterRegistry.find("hikaricp.connections.pending").gauge();
+    }
+
+    public boolean isAvailable() {
+        return active != null && pending != null;
+    }
+
+    /** measureFrom(System.nanoTime) 이후 표본만 집계한다. */
+    public void start(long measureFrom) {
+        this.measureFrom = measureFrom;
+        if (isAvailable()) {
+            scheduler.scheduleAtFixedRate(this::sample, 0, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void sample() {
+        if (System.nanoTime() < measureFrom) {
+            return;
+        }
+        long inFlight = (long) (active.value() + pending.value());
+        samples++;
+        sum += inFlight;
+        peak = Math.max(peak, inFlight);
+    }
+
+    public synchronized double mean() {
+        return samples == 0 ? Double.NaN : (double) sum / samples;
+    }
+
+    public synchronized long peak() {
+        return peak;
+    }
+}
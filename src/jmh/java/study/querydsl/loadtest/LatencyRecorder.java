@@ -0,0 +1,67 @@
+package study.querydsl.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 엔드포인트 하나의 응답시간/오류/SQL 실행 횟수 기록 <br/>
+ * 클라이언트 스레드마다 따로 기록하고(동기화 없음) 측정이 끝나면 merge로 합친다. <br/>
+ * 백분위수는 전체 응답시간을 정렬하여 nearest-rank 방식으로 계산한다.
+ */
+public class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private long statements;
+    private int statementSamples;
+
+    /**
+     * @param latencyNanos 응답시간
+     * @param success 2xx 응답 여부
+     * @param statementCount 요청에서 실행된 SQL 수 (응답 헤더에 없으면 -1)
+     */
+    public void record(long latencyNanos, boolean success, int statementCount) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+        if (statementCount >= 0) {
+            statements += statementCount;
+            statementSamples++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i], true, -1);
+        }
+        errors += other.errors;
+        statements += other.statements;
+        statementSamples += other.statementSamples;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    public double statementsPerRequest() {
+        return statementSamples == 0 ? Double.NaN : (double) statements / statementSamples;
+    }
+
+    /** 백분위수 응답시간(ms), percentile : 0 ~ 100 */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+    }
+}
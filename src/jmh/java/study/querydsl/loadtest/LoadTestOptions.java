@@ -0,0 +1,106 @@
+package study.querydsl.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션 (--이름=값) <br/>
+ * ex) --threads=32 --warmup=10 --duration=30 --members=100000 --mix=v1:1,v2:1,v3:2 --max-page=50 --size=20 <br/>
+ * --virtual : virtual 프로필(가상 스레드 요청 처리)로 기동 (Java 21 이상, ./gradlew loadTest -PvirtualThreads) <br/>
+ * 그 밖의 --spring.* 등 인자는 애플리케이션 인자로 그대로 넘긴다.
+ */
+public class LoadTestOptions {
+    private int threads = 16;
+    private int warmupSeconds = 5;
+    private int durationSeconds = 30;
+    private int memberCount = 100_000;
+    private int maxPage = 50;
+    private int pageSize = 20;
+    private boolean virtual;
+    /** 엔드포인트(v1, v2, v3)별 가중치 */
+    private final Map<String, Integer> mix = new LinkedHashMap<>();
+    private String[] applicationArgs = new String[0];
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        options.mix.put("v1", 1);
+        options.mix.put("v2", 1);
+        options.mix.put("v3", 1);
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            String value = pair.length > 1 ? pair[1] : "";
+            switch (pair[0]) {
+                case "threads": options.threads = Integer.parseInt(value); break;
+                case "warmup": options.warmupSeconds = Integer.parseInt(value); break;
+                case "duration": options.durationSeconds = Integer.parseInt(value); break;
+                case "members": options.memberCount = Integer.parseInt(value); break;
+                case "max-page": options.maxPage = Integer.parseInt(value); break;
+                case "size": options.pageSize = Integer.parseInt(value); break;
+                case "mix": options.parseMix(value); break;
+                case "virtual": options.virtual = value.isEmpty() || Boolean.parseBoolean(value); break;
+                default: applicationArgs.add(arg);
+            }
+        }
+        options.applicationArgs = applicationArgs.toArray(new String[0]);
+        return options;
+    }
+
+    private void parseMix(String value) {
+        mix.clear();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split(":");
+            int weight = pair.length > 1 ? Integer.parseInt(pair[1]) : 1;
+            if (weight > 0) {
+                mix.put(pair[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix에 가중치가 0보다 큰 엔드포인트가 하나 이상 있어야 합니다. : " + value);
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public int getMaxPage() {
+        return maxPage;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+
+    public String[] getApplicationArgs() {
+        return applicationArgs;
+    }
+
+    @Override
+    public String toString() {
+        return "threads=" + threads + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s"
+                + ", members=" + memberCount + ", mix=" + mix + ", maxPage=" + maxPage + ", size=" + pageSize + ", virtual=" + virtual;
+    }
+}
@@ -0,0 +1,163 @@
+package study.querydsl.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.benchmark.BenchmarkDataSet;
+import study.querydsl.monitor.PersistenceStatsHeaderAdvice;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 회원 검색 API(/v1, /v2, /v3/members) 부하 테스트 (같은 JVM) <br/>
+ * 1) 내장 H2 + 생성 데이터(BenchmarkDataSet)로 애플리케이션을 임의 포트에 띄운다. <br/>
+ * 2) 클라이언트 스레드 threads개가 MemberSearchScenario의 요청을 쉬지 않고 보낸다. (closed model) <br/>
+ * 3) warmup 동안의 결과는 버리고 duration 동안의 처리량, p50/p95/p99/max 응답시간, 오류율, 요청당 SQL 수를 출력한다. <br/>
+ * 요청당 SQL 수는 X-Persistence-Stats 응답 헤더(statements=N)에서 읽는다. <br/>
+ * 서버가 동시에 처리 중인 요청 수(커넥션 사용 + 대기)는 InFlightSampler로 함께 출력한다. (--virtual : 가상 스레드 모드 비교) <br/>
+ * 실행 : ./gradlew loadTest -PloadTest.args="--threads=32 --duration=60 --mix=v2:1,v3:3"
+ */
+public class MemberLoadTest {
+    private static final Pattern STATEMENTS = Pattern.compile("statements=(\\d+)");
+
+    /** 측정에 필요한 설정 (P6Spy 로그 출력 없이 SQL 집계만 사용, 느린 쿼리 실행계획 수집 안 함) */
+    private static final String[] APPLICATION_ARGS = {
+            "--decorator.datasource.enabled=true",
+            "--decorator.datasource.p6spy.enable-logging=false",
+            "--querydsl.sql-monitor.enabled=true",
+            "--querydsl.sql-monitor.debug-header=true",
+            "--querydsl.sql-monitor.explain-slow-queries=false",
+            "--logging.level.study.querydsl.monitor=error"
+    };
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("[load-test] " + options);
+
+        List<String> applicationArgs = new ArrayList<>(List.of(APPLICATION_ARGS));
+        if (options.isVirtual()) {
+            applicationArgs.add("--spring.profiles.active=bench,virtual");
+        }
+        applicationArgs.addAll(List.of(options.getApplicationArgs()));
+
+        ConfigurableApplicationContext context = BenchmarkDataSet.startServer(options.getMemberCount(), applicationArgs.toArray(new String[0]));
+        try {
+            String baseUrl = "http://localhost:" + BenchmarkDataSet.port(context);
+            run(baseUrl, options, new InFlightSampler(context.getBean(MeterRegistry.class)));
+        } finally {
+            context.close();
+        }
+    }
+
+    static void run(String baseUrl, LoadTestOptions options, InFlightSampler inFlight) throws Exception {
+        MemberSearchScenario scenario = new MemberSearchScenario(options);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, options.getThreads() / 4)))
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(options.getWarmupSeconds()).toNanos();
+        long measureUntil = measureFrom + Duration.ofSeconds(options.getDurationSeconds()).toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(options.getThreads());
+        CountDownLatch ready = new CountDownLatch(options.getThreads());
+        List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < options.getThreads(); i++) {
+            futures.add(clients.submit(() -> {
+                ready.countDown();
+                return drive(client, baseUrl, scenario, measureFrom, measureUntil);
+            }));
+        }
+        ready.await();
+        inFlight.start(measureFrom);
+
+        Map<String, LatencyRecorder> result = new TreeMap<>();
+        for (Future<Map<String, LatencyRecorder>> future : futures) {
+            future.get().forEach((endpoint, recorder) ->
+                    result.computeIfAbsent(endpoint, key -> new LatencyRecorder()).merge(recorder));
+        }
+        clients.shutdown();
+        inFlight.stop();
+        report(result, options.getDurationSeconds());
+        if (inFlight.isAvailable()) {
+            System.out.printf("server in-flight (db active + pending) : mean %.1f, peak %d%n", inFlight.mean(), inFlight.peak());
+        }
+    }
+
+    /** 클라이언트 스레드 1개 : measureUntil까지 요청을 보내고 measureFrom 이후 결과만 기록한다. */
+    private static Map<String, LatencyRecorder> drive(HttpClient client, String baseUrl, MemberSearchScenario scenario,
+                                                      long measureFrom, long measureUntil) {
+        Map<String, LatencyRecorder> recorders = new HashMap<>();
+        while (true) {
+            long requestStart = System.nanoTime();
+            if (requestStart >= measureUntil) {
+                return recorders;
+            }
+            MemberSearchScenario.Request request = scenario.next();
+            boolean success;
+            int statements = -1;
+            try {
+                HttpResponse<byte[]> response = client.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + request.getPath()))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET().build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                success = response.statusCode() / 100 == 2;
+                statements = response.headers().firstValue(PersistenceStatsHeaderAdvice.HEADER_NAME)
+                        .map(MemberLoadTest::statements)
+                        .orElse(-1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return recorders;
+            } catch (Exception e) {
+                success = false;
+            }
+            if (requestStart >= measureFrom) {
+                recorders.computeIfAbsent(request.getEndpoint(), key -> new LatencyRecorder())
+                        .record(System.nanoTime() - requestStart, success, statements);
+            }
+        }
+    }
+
+    private static int statements(String header) {
+        Matcher matcher = STATEMENTS.matcher(header);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private static void report(Map<String, LatencyRecorder> result, int durationSeconds) {
+        LatencyRecorder total = new LatencyRecorder();
+        result.values().forEach(total::merge);
+        System.out.printf("%-8s %10s %10s %9s %9s %9s %9s %8s %9s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "error%", "sql/req");
+        result.forEach((endpoint, recorder) -> print(endpoint, recorder, durationSeconds));
+        print("total", total, durationSeconds);
+    }
+
+    private static void print(String name, LatencyRecorder recorder, int durationSeconds) {
+        System.out.printf("%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8.2f %9.2f%n",
+                name,
+                recorder.getCount(),
+                (double) recorder.getCount() / durationSeconds,
+                recorder.percentileMillis(50),
+                recorder.percentileMillis(95),
+                recorder.percentileMillis(99),
+                recorder.percentileMillis(100),
+                recorder.errorRate() * 100,
+                recorder.statementsPerRequest());
+    }
+}
@@ -0,0 +1,102 @@
+package study.querydsl.loadtest;
+
+import study.querydsl.benchmark.BenchmarkDataSet;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 회원 검색 요청 생성 <br/>
+ * mix 가중치로 엔드포인트를 고르고, MemberSearchCondition 조합(조건 없음/팀명/나이 범위/회원명/팀명+나이)과 페이지를 임의로 정한다. <br/>
+ * /v1/members 는 페이징이 없으므로 회원명 혹은 팀명+나이 범위 조건만 사용하여 응답 크기를 제한한다.
+ */
+public class MemberSearchScenario {
+
+    private final List<String> endpoints = new ArrayList<>();
+    private final int memberCount;
+    private final int maxPage;
+    private final int pageSize;
+
+    public MemberSearchScenario(LoadTestOptions options) {
+        for (Map.Entry<String, Integer> entry : options.getMix().entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                endpoints.add(entry.getKey());
+            }
+        }
+        this.memberCount = options.getMemberCount();
+        this.maxPage = options.getMaxPage();
+        this.pageSize = options.getPageSize();
+    }
+
+    /** 다음 요청 (엔드포인트 이름 + 경로) */
+    public Request next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String endpoint = endpoints.get(random.nextInt(endpoints.size()));
+        MemberSearchCondition condition = condition(random, "v1".equals(endpoint));
+        StringBuilder path = new StringBuilder("/").append(endpoint).append("/members?");
+        if (condition.getUsername() != null) {
+            path.append("username=").append(condition.getUsername()).append('&');
+        }
+        if (condition.getTeamName() != null) {
+            path.append("teamName=").append(condition.getTeamName()).append('&');
+        }
+        if (condition.getAgeGoe() != null) {
+            path.append("ageGoe=").append(condition.getAgeGoe()).append('&');
+        }
+        if (condition.getAgeLoe() != null) {
+            path.append("ageLoe=").append(condition.getAgeLoe()).append('&');
+        }
+        path.append("page=").append(random.nextInt(maxPage + 1)).append("&size=").append(pageSize);
+        return new Request(endpoint, path.toString());
+    }
+
+    private MemberSearchCondition condition(ThreadLocalRandom random, boolean unpaged) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        String teamName = "team" + (random.nextInt(BenchmarkDataSet.TEAM_COUNT) + 1);
+        int ageGoe = random.nextInt(90);
+        int shape = random.nextInt(5);
+        if (unpaged && shape != 3) {
+            shape = 4;
+        }
+        switch (shape) {
+            case 0:
+                break;
+            case 1:
+                condition.setTeamName(teamName);
+                break;
+            case 2:
+                condition.setAgeGoe(ageGoe);
+                condition.setAgeLoe(ageGoe + 10);
+                break;
+            case 3:
+                condition.setUsername("Member" + (random.nextInt(memberCount) + 1));
+                break;
+            default:
+                condition.setTeamName(teamName);
+                condition.setAgeGoe(ageGoe);
+                condition.setAgeLoe(ageGoe + 10);
+        }
+        return condition;
+    }
+
+    public static class Request {
+        private final String endpoint;
+        private final String path;
+
+        public Request(String endpoint, String path) {
+            this.endpoint = endpoint;
+            this.path = path;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+}
@@ -1,33 +1,137 @@
 package study.querydsl;
 
 import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
 import com.p6spy.engine.event.JdbcEventListener;
+import com.p6spy.engine.logging.Category;
+import com.p6spy.engine.logging.P6LogOptions;
 import com.p6spy.engine.spy.P6SpyOptions;
 import com.p6spy.engine.spy.appender.MessageFormattingStrategy;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import study.querydsl.monitor.AsyncSqlLogWriter;
+import study.querydsl.monitor.SqlAttribution;
+import study.querydsl.monitor.SqlLogProperties;
 
 import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * P6Spy SQL 로그 포맷터 <br/>
+ * 동기 모드(기본) : P6Spy 로거가 요청 스레드에서 formatMessage()를 호출한다. <br/>
+ * 비동기 모드(querydsl.sql-log.async: true) : onAfterAnyExecute()에서 원본 SQL만 AsyncSqlLogWriter 버퍼에 담고 <br/>
+ * 포맷팅/출력은 백그라운드 스레드에서 처리한다. (샘플링, 느린 SQL 항상 기록, 유실 건수 집계) <br/>
+ * 비동기 모드에서는 중복 출력되지 않도록 P6Spy 기본(동기) 로깅의 모든 카테고리를 제외한다. <br/>
+ * P6Spy는 setLogMessageFormat()에 넘긴 클래스명으로 기본 생성자를 호출하여 별도 인스턴스를 만들기 때문에 <br/>
+ * formatMessage()는 주입받은 필드를 사용하지 않는다.
+ */
 @Component  // 1
-public class P6SpyFormatter extends JdbcEventListener implements MessageFormattingStrategy {
+public class P6SpyFormatter extends JdbcEventListener implements MessageFormattingStrategy, InitializingBean, DisposableBean {
+
+    /** P6Spy 기본 로깅에서 제외할 카테고리 (전체) */
+    private static final String ALL_CATEGORIES = String.join(",",
+            Category.ERROR.getName(), Category.INFO.getName(), Category.DEBUG.getName(),
+            Category.STATEMENT.getName(), Category.BATCH.getName(), Category.COMMIT.getName(),
+            Category.ROLLBACK.getName(), Category.RESULT.getName(), Category.RESULTSET.getName(),
+            Category.OUTAGE.getName());
+
+    private final SqlLogProperties properties;
+    private AsyncSqlLogWriter asyncWriter;
+    private volatile boolean formatRegistered;
+
+    public P6SpyFormatter() { // P6Spy 리플렉션 생성용
+        this.properties = null;
+    }
+
+    @Autowired
+    public P6SpyFormatter(SqlLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (properties != null && properties.isAsync()) {
+            asyncWriter = new AsyncSqlLogWriter(properties, new P6SpyFormatter());
+            asyncWriter.start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncWriter != null) {
+            asyncWriter.stop();
+        }
+    }
 
     @Override // 2
     public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
-        P6SpyOptions.getActiveInstance().setLogMessageFormat(getClass().getName());
+        if (!formatRegistered) { // 커넥션마다 옵션을 다시 설정하지 않도록 최초 1회만 등록
+            P6SpyOptions.getActiveInstance().setLogMessageFormat(getClass().getName());
+            if (asyncWriter != null) {
+                disableSyncLogging();
+            }
+            formatRegistered = true;
+        }
+    }
+
+    /**
+     * P6Spy 기본 로깅(동기)을 끈다. <br/>
+     * 로깅 모듈 옵션은 P6Spy 초기화 이후에만 존재하므로 최초 커넥션 획득 시점에 설정한다. (enable-logging: false 이면 모듈이 없다)
+     */
+    private void disableSyncLogging() {
+        P6LogOptions logOptions = P6LogOptions.getActiveInstance();
+        if (logOptions != null) {
+            logOptions.setExcludecategories(ALL_CATEGORIES);
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        offer(statementInformation, timeElapsedNanos, Category.STATEMENT, e);
+    }
+
+    @Override
+    public void onAfterExecuteBatch(StatementInformation statementInformation, long timeElapsedNanos, int[] updateCounts, SQLException e) {
+        offer(statementInformation, timeElapsedNanos, Category.BATCH, e);
+    }
+
+    /** P6Spy 기본 로깅과 같은 카테고리로 남긴다. (실패한 실행은 error) */
+    private void offer(StatementInformation statementInformation, long timeElapsedNanos, Category category, SQLException e) {
+        if (asyncWriter != null) {
+            String categoryName = (e != null ? Category.ERROR : category).getName();
+            asyncWriter.offer(statementInformation.getConnectionInformation().getConnectionId(),
+                    TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos), withTrace(categoryName), statementInformation.getSqlWithValues());
+        }
+    }
+
+    /** 비동기 모드에서 버퍼 초과로 버려진 로그 건수 */
+    public long getDroppedLogCount() {
+        return asyncWriter != null ? asyncWriter.getDroppedCount() : 0;
     }
 
     @Override // 3
     public String formatMessage(int connectionId, String now, long elapsed, String category, String prepared, String sql, String url) {
         StringBuilder sb = new StringBuilder();
-        sb.append(category).append(" ").append(elapsed).append("ms");
+        sb.append(withTrace(category)).append(" ").append(elapsed).append("ms");
         if (StringUtils.hasText(sql)) {
             sb.append(highlight(format(sql)));
         }
         return sb.toString();
     }
 
+    /** 요청 스레드이면 trace id를 덧붙인다. (비동기 모드는 버퍼에 담기 전에 붙인다) */
+    private static String withTrace(String category) {
+        String traceId = SqlAttribution.traceId();
+        if (traceId == null || category.contains(" trace=")) {
+            return category;
+        }
+        return category + " trace=" + traceId;
+    }
+
     private String format(String sql) {
         if (isDDL(sql)) {
             return FormatStyle.DDL.getFormatter().format(sql);
@@ -3,15 +3,22 @@ package study.querydsl;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
 
 import javax.persistence.EntityManager;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class QuerydslApplication {
+	/** 기동 단계(StartupStep) 보관 개수 (StartupReport, /actuator/startup) */
+	private static final int STARTUP_STEP_CAPACITY = 4096;
 
 	public static void main(String[] args) {
-		SpringApplication.run(QuerydslApplication.class, args);
+		SpringApplication application = new SpringApplication(QuerydslApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
 	/**
@@ -0,0 +1,30 @@
+package study.querydsl.config;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스프링 캐시 활성화 <br/>
+ * 별도 캐시 라이브러리가 없으므로 ConcurrentMapCacheManager를 사용한다. (TTL 없음) <br/>
+ * - 회원/팀 엔티티 변경 : 커밋 후 하이버네이트 이벤트로 비운다. (TeamSummaryCacheEvictor) <br/>
+ * - 엔티티 이벤트가 없는 벌크 연산 : 주기적으로 비운다. (TeamSummaryService.expire, querydsl.cache.team-summary-expire-millis) <br/>
+ * 트랜잭션 안의 evict는 커밋 이후에 실행한다. (TransactionAwareCacheManagerProxy) <br/>
+ * 커밋 전에 비우면 그 사이 다른 요청이 커밋 전 데이터로 다시 캐시할 수 있다.
+ */
+@Configuration
+@EnableCaching
+@EnableScheduling
+public class CacheConfig {
+    /** 팀별 회원 집계 (TeamSummaryService) - 회원/팀 변경 커밋시, 만료 주기마다 비운다. */
+    public static final String TEAM_SUMMARY = "teamSummary";
+
+    @Bean
+    public CacheManager cacheManager() {
+        return new TransactionAwareCacheManagerProxy(new ConcurrentMapCacheManager());
+    }
+}
@@ -0,0 +1,76 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import study.querydsl.datasource.ReplicationRoutingDataSource;
+import study.querydsl.datasource.RoutingDataSourceProperties;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 데이터소스 분리 (querydsl.datasource.routing.enabled: true) <br/>
+ * primary(spring.datasource, spring.datasource.hikari)와 replica 풀을 만들고 ReplicationRoutingDataSource로 묶는다. <br/>
+ * 스프링 빈으로는 LazyConnectionDataSourceProxy 하나만 등록하고 풀은 이 설정이 직접 닫는다. <br/>
+ * (개별 풀을 빈으로 등록하면 P6Spy 데코레이터가 각각 감싸서 SQL 로그/지표가 중복된다) <br/>
+ * OSIV(spring.jpa.open-in-view)와 함께 쓸 수 없다. 요청 전체가 세션 하나를 쓰고 세션은 처음 얻은 커넥션을 계속 잡고 있으므로
+ * (DELAYED_ACQUISITION_AND_HOLD) 읽기 전용 트랜잭션 뒤의 쓰기가 replica 커넥션으로 실행되고 read-your-writes 고정도 등록되지 않는다.
+ * -> spring.jpa.open-in-view: false 가 아니면 기동을 실패시킨다.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+@ConditionalOnProperty(prefix = "querydsl.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    DataSource dataSource(DataSourceProperties dataSourceProperties, RoutingDataSourceProperties routingProperties,
+                          Environment environment) {
+        checkOpenInView(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        pools.add(primary);
+
+        List<DataSource> replicas = new ArrayList<>();
+        List<RoutingDataSourceProperties.Replica> replicaProperties = routingProperties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            RoutingDataSourceProperties.Replica replica = replicaProperties.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.getUsername());
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.getPassword());
+            dataSource.setDriverClassName(dataSourceProperties.getDriverClassName());
+            dataSource.setMaximumPoolSize(routingProperties.getReplicaPoolSize());
+            dataSource.setReadOnly(true);
+            pools.add(dataSource);
+            replicas.add(dataSource);
+        }
+        return new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primary, replicas, routingProperties.getStickyMillis()));
+    }
+
+    static void checkOpenInView(Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException(
+                    "querydsl.datasource.routing.enabled: true 이면 spring.jpa.open-in-view: false 로 설정해야 합니다.");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,25 @@
+package study.querydsl.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.P6SpyFormatter;
+import study.querydsl.controller.InitMember;
+
+/**
+ * 기동 설정 <br/>
+ * fast 프로필의 지연 초기화(spring.main.lazy-initialization: true)에서 제외할 빈 <br/>
+ * - study.querydsl.monitor, P6SpyFormatter : 다른 빈이 주입받지 않고 생성 시점에 리스너/로그 포맷을 등록하는 빈 <br/>
+ * - InitMember : @PostConstruct 초기 데이터 입력
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInitializedBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType.getPackageName().startsWith("study.querydsl.monitor")
+                        || P6SpyFormatter.class.isAssignableFrom(beanType)
+                        || InitMember.class.isAssignableFrom(beanType);
+    }
+}
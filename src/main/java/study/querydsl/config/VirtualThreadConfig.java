@@ -0,0 +1,62 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 요청 처리 (querydsl.virtual-threads.enabled: true, virtual 프로필) <br/>
+ * 톰캣 요청 처리 스레드 풀을 가상 스레드(요청당 1개)로 바꾼다. 컨트롤러 ~ 리포지토리 ~ JDBC 호출이 모두 가상 스레드에서 실행된다. <br/>
+ * 소스는 Java 11로 컴파일하므로 Executors.newVirtualThreadPerTaskExecutor()는 리플렉션으로 호출한다. (Java 21 이상에서 실행 : ./gradlew bootRun -PvirtualThreads) <br/>
+ * 동시 요청 수가 스레드 수에 묶이지 않으므로 DB 동시성은 커넥션 풀(spring.datasource.hikari.maximum-pool-size)이 제한한다. <br/>
+ * synchronized 안에서 블로킹 I/O를 하는 JDBC 드라이버(H2 TCP 등)는 캐리어 스레드를 고정(pinning)하므로
+ * 커넥션 풀 크기가 캐리어 수(jdk.virtualThreadScheduler.parallelism)보다 크면 경고를 남긴다. (고정 추적 : -Djdk.tracePinnedThreads=short)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "querydsl.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutorCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkConnectionPool(ApplicationReadyEvent event) {
+        ObjectProvider<DataSource> dataSource = event.getApplicationContext().getBeanProvider(DataSource.class);
+        int maximumPoolSize;
+        try {
+            maximumPoolSize = dataSource.getObject().unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            return; // HikariCP가 아니면 검사하지 않는다.
+        }
+        int parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+        if (maximumPoolSize > parallelism) {
+            log.warn("[virtual-threads] 커넥션 풀({})이 캐리어 스레드 수({})보다 큽니다. JDBC 드라이버가 캐리어를 고정하면 다른 요청이 멈출 수 있습니다."
+                    + " (-Djdk.virtualThreadScheduler.parallelism={} 혹은 풀 크기 축소)", maximumPoolSize, parallelism, maximumPoolSize);
+        }
+        log.info("[virtual-threads] enabled, connection pool={}, carrier parallelism={}", maximumPoolSize, parallelism);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서 실행해야 합니다. (현재 : " + Runtime.version() + ")", e);
+        }
+    }
+}
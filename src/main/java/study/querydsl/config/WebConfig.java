@@ -0,0 +1,38 @@
+package study.querydsl.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.querydsl.datasource.ReadYourWritesInterceptor;
+import study.querydsl.deadline.DeadlineInterceptor;
+import study.querydsl.limit.ConcurrencyLimitInterceptor;
+import study.querydsl.monitor.SqlAttributionInterceptor;
+import study.querydsl.monitor.SqlStatementCountInterceptor;
+
+/**
+ * Spring MVC 설정 <br/>
+ * 인터셉터 등록
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final SqlAttributionInterceptor sqlAttributionInterceptor;
+    private final SqlStatementCountInterceptor sqlStatementCountInterceptor;
+    private final ReadYourWritesInterceptor readYourWritesInterceptor;
+    private final DeadlineInterceptor deadlineInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlAttributionInterceptor);
+        registry.addInterceptor(sqlStatementCountInterceptor);
+        registry.addInterceptor(readYourWritesInterceptor);
+        registry.addInterceptor(deadlineInterceptor)
+                .excludePathPatterns("/v1/members/stream");
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/v*/members", "/v*/teams/**")
+                .excludePathPatterns("/v1/members/stream");
+    }
+}
@@ -1,11 +1,16 @@
 package study.querydsl.controller;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.startup.StartupPhases;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
@@ -13,8 +18,11 @@ import javax.persistence.PersistenceContext;
 
 /**
  * SpringBoot를 실행하면 application.yml에 지정한 profile에 의해 이 컴포넌트가 실행된다 <br/>
- * @PostConstructor 에 의해 init()이 실행되면서 DB에 데이터가 삽입된다.
+ * @PostConstructor 에 의해 init()이 실행되면서 DB에 데이터가 삽입된다. <br/>
+ * querydsl.init.async: true (fast 프로필) 이면 기동 완료(ApplicationReadyEvent) 후 별도 스레드에서 삽입한다. <br/>
+ * 회원이 이미 있으면(ddl-auto: validate 등으로 데이터가 남아있는 경우) 삽입하지 않는다.
  */
+@Slf4j
 @Profile("local")
 @Component
 @RequiredArgsConstructor
@@ -22,9 +30,28 @@ public class InitMember {
 
     private final InitMemberService initMemberService;
 
+    @Value("${querydsl.init.async:false}")
+    private boolean async;
+
     @PostConstruct
     public void init() {
-        initMemberService.init();
+        if (!async) {
+            StartupPhases.time(StartupPhases.SEED, initMemberService::init);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initAfterReady() {
+        if (!async) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            initMemberService.init();
+            log.info("[startup] async seed {}ms", (System.nanoTime() - start) / 1_000_000);
+        }, "init-member");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     @Component
@@ -32,8 +59,13 @@ public class InitMember {
         @PersistenceContext
         private EntityManager em;
 
+        /** 비동기 삽입 중에 캐시된 집계(빈 목록 등)는 커밋 후 비워진다. (TeamSummaryCacheEvictor) */
         @Transactional
         public void init() {
+            Long memberCount = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+            if (memberCount > 0) {
+                return;
+            }
             Team teamA = new Team("teamA");
             Team teamB = new Team("teamB");
             em.persist(teamA);
@@ -3,12 +3,20 @@ package study.querydsl.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
 import study.querydsl.repository.MemberJpaRepositroy;
+import study.querydsl.repository.MemberQueryRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.service.MemberParallelSearchService;
+import study.querydsl.service.MemberSearchStreamService;
 
 import java.util.List;
 
@@ -17,18 +25,45 @@ import java.util.List;
 public class MemberController {
     private final MemberJpaRepositroy memberJpaRepositroy;
     private final MemberRepository memberRepository;
+    private final MemberQueryRepository memberQueryRepository;
+    private final MemberSearchStreamService memberSearchStreamService;
+    private final MemberParallelSearchService memberParallelSearchService;
 
     /**
      * [검색 조건 조회 API] - 순수 JPA 기반 쿼리 DSL 적용 <br/>
-     * PostMan URL : http://localhost:8080/v1/members?teamName=teamB&ageGoe=31&ageLoe=35&username=Member31
+     * PostMan URL : http://localhost:8080/v1/members?teamName=teamB&ageGoe=31&ageLoe=35&username=Member31 <br/>
+     * parallel=true : 회원 식별자 구간별로 나누어 병렬 조회 후 병합 (MemberParallelSearchService), sort 적용 <br/>
+     * PostMan URL : http://localhost:8080/v1/members?ageGoe=10&parallel=true&sort=username,desc
      * @param condition
+     * @param parallel 병렬 분할 조회 여부
+     * @param sort 정렬 (병렬 분할 조회에서만 적용)
      * @return
      */
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition,
+                                              @RequestParam(defaultValue = "false") boolean parallel,
+                                              Sort sort) {
+        if (parallel) {
+            return memberParallelSearchService.search(condition, sort);
+        }
         return memberJpaRepositroy.searchByWhereCondition(condition);
     }
 
+    /**
+     * [검색 조건 스트리밍 조회 API] - /v1/members와 같은 검색 조건, 결과를 한 건씩 흘려보낸다. <br/>
+     * 응답 형식 : application/x-ndjson (한 줄에 회원 1명) 혹은 text/event-stream <br/>
+     * 클라이언트가 느리게 읽으면 다음 chunkSize건 조회도 늦춰진다. (MemberSearchStreamService) <br/>
+     * PostMan URL : http://localhost:8080/v1/members/stream?teamName=teamB&chunkSize=100
+     * @param condition
+     * @param chunkSize 한번에 조회할 회원 수 (최대 1000)
+     * @return
+     */
+    @GetMapping(value = "/v1/members/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<MemberTeamDto> streamMemberV1(MemberSearchCondition condition,
+                                              @RequestParam(defaultValue = "100") int chunkSize) {
+        return memberSearchStreamService.search(condition, chunkSize);
+    }
+
     /**
      * [검색 조건 및 페이징 조회 API] - 스프링데이터JPA 기반 쿼리DSL적용 <br/>
      * content,count 통합처리
@@ -54,4 +89,26 @@ public class MemberController {
     public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
         return memberRepository.searchComplex(condition, pageable);
     }
+
+    /**
+     * [검색 조건 및 페이징 조회 API] - Querydsl4RepositorySupport + FetchPlan 적용 <br/>
+     * 엔티티 조회시 필요한 형태(member-with-team)를 선언하여 팀까지 한번에 조회 <br/>
+     * PostMan URL : http://localhost:8080/v4/members?teamName=teamB&page=0&size=5
+     * @param condition
+     * @param pageable
+     * @return
+     */
+    @GetMapping("/v4/members")
+    public Page<MemberTeamDto> searchMemberV4(MemberSearchCondition condition, Pageable pageable) {
+        return memberQueryRepository.searchPageWithTeam(condition, pageable)
+                .map(this::toMemberTeamDto);
+    }
+
+    private MemberTeamDto toMemberTeamDto(Member member) {
+        if (member.getTeam() == null) {
+            return new MemberTeamDto(member.getId(), member.getUsername(), member.getAge(), null, null);
+        }
+        return new MemberTeamDto(member.getId(), member.getUsername(), member.getAge(),
+                member.getTeam().getId(), member.getTeam().getName());
+    }
 }
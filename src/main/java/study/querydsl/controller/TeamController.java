@@ -0,0 +1,44 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.TeamMembersDto;
+import study.querydsl.dto.TeamSummaryDto;
+import study.querydsl.repository.TeamQueryRepository;
+import study.querydsl.service.TeamSummaryService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+    private final TeamQueryRepository teamQueryRepository;
+    private final TeamSummaryService teamSummaryService;
+
+    /**
+     * [팀 + 소속 회원 페이징 조회 API] - FetchPlan.TEAM_WITH_MEMBERS <br/>
+     * PostMan URL : http://localhost:8080/v1/teams?teamName=teamA&page=0&size=5
+     * @param teamName
+     * @param pageable
+     * @return
+     */
+    @GetMapping("/v1/teams")
+    public Page<TeamMembersDto> searchTeamV1(String teamName, Pageable pageable) {
+        return teamQueryRepository.searchPageWithMembers(teamName, pageable)
+                .map(TeamMembersDto::new);
+    }
+
+    /**
+     * [팀별 회원 집계 API] - count, avg, min, max (캐시 적용) <br/>
+     * 회원 컬렉션을 로딩하지 않고 group by 집계 쿼리 1회로 조회 <br/>
+     * PostMan URL : http://localhost:8080/v1/teams/summary
+     * @return
+     */
+    @GetMapping("/v1/teams/summary")
+    public List<TeamSummaryDto> teamSummaryV1() {
+        return teamSummaryService.findSummaries();
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.datasource;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 쓰기 직후 읽기 일관성(read-your-writes) <br/>
+ * 쓰기 트랜잭션이 커밋되면 현재 스레드의 읽기를 stickyMillis 동안 primary로 고정하고,
+ * 요청 처리 중이면 쿠키(COOKIE_NAME, 만료 = stickyMillis)를 내려 같은 클라이언트의 다음 요청도 primary로 보낸다. <br/>
+ * ReadYourWritesInterceptor가 요청 시작시 쿠키를 읽고 종료시 제거한다.
+ */
+public final class ReadYourWrites {
+    public static final String COOKIE_NAME = "querydsl-rw";
+
+    private static final ThreadLocal<Long> STICKY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /** 쓰기 커밋 기록 */
+    public static void markWrite(long stickyMillis) {
+        stickUntil(System.currentTimeMillis() + stickyMillis);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE_NAME, "1");
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (stickyMillis + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        }
+    }
+
+    public static void stickUntil(long epochMillis) {
+        STICKY_UNTIL.set(epochMillis);
+    }
+
+    /** true : 현재 스레드의 읽기를 primary로 보낸다. */
+    public static boolean isSticky() {
+        Long until = STICKY_UNTIL.get();
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public static void clear() {
+        STICKY_UNTIL.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package study.querydsl.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 단위 read-your-writes 고정 <br/>
+ * 직전 요청에서 쓰기가 있었던 클라이언트(쿠키가 아직 만료되지 않음)의 읽기는 이번 요청 동안 primary로 보낸다. <br/>
+ * 비동기 응답은 요청 스레드에서 afterCompletion이 호출되지 않으므로 afterConcurrentHandlingStarted에서 해제한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final RoutingDataSourceProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled() && WebUtils.getCookie(request, ReadYourWrites.COOKIE_NAME) != null) {
+            ReadYourWrites.stickUntil(System.currentTimeMillis() + properties.getStickyMillis());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWrites.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWrites.clear();
+    }
+}
@@ -0,0 +1,91 @@
+package study.querydsl.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기/쓰기 라우팅 데이터소스 <br/>
+ * - 읽기 전용 트랜잭션(@Transactional(readOnly = true)) : replica (라운드로빈) <br/>
+ * - 그 외(쓰기 트랜잭션, 트랜잭션 밖) 및 read-your-writes 고정 중(ReadYourWrites) : primary <br/>
+ * 트랜잭션의 읽기 전용 여부는 트랜잭션 시작 이후에 정해지므로 LazyConnectionDataSourceProxy로 감싸서
+ * 첫 SQL 실행 시점에 커넥션을 고르도록 해야 한다. (DataSourceConfig) <br/>
+ * replica 커넥션을 얻지 못하면 primary로 대체한다.
+ */
+@Slf4j
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+
+    private final DataSource primary;
+    private final int replicaCount;
+    private final long stickyMillis;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(DataSource primary, List<DataSource> replicas, long stickyMillis) {
+        this.primary = primary;
+        this.replicaCount = replicas.size();
+        this.stickyMillis = stickyMillis;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA + i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaCount > 0
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.isSticky()) {
+            return REPLICA + Math.floorMod(counter.getAndIncrement(), replicaCount);
+        }
+        registerWriteCommitCallback();
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (target == primary) {
+                throw e;
+            }
+            log.warn("replica 커넥션 실패, primary로 대체합니다. : {}", e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    /** 쓰기 트랜잭션이 커밋되면 read-your-writes 고정 (트랜잭션당 1회 등록) */
+    private void registerWriteCommitCallback() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicationRoutingDataSource.this);
+                if (status == STATUS_COMMITTED) {
+                    ReadYourWrites.markWrite(stickyMillis);
+                }
+            }
+        });
+    }
+}
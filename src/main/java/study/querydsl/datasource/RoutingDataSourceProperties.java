@@ -0,0 +1,34 @@
+package study.querydsl.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 데이터소스 분리 설정 <br/>
+ * application.yml의 querydsl.datasource.routing 하위 속성과 바인딩된다. (primary는 spring.datasource)
+ */
+@Data
+@ConfigurationProperties(prefix = "querydsl.datasource.routing")
+public class RoutingDataSourceProperties {
+    /** true : @Transactional(readOnly = true)는 replica로, 나머지는 primary로 보낸다. */
+    private boolean enabled = false;
+    /**
+     * 쓰기 트랜잭션 커밋 후 이 시간(ms) 동안 같은 요청/클라이언트의 읽기도 primary로 보낸다. (read-your-writes) <br/>
+     * replica 최대 복제 지연보다 크게 잡는다.
+     */
+    private long stickyMillis = 1_000;
+    /** replica 1개당 커넥션 풀 크기 */
+    private int replicaPoolSize = 10;
+    /** replica 목록 (라운드로빈) */
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,15 @@
+package study.querydsl.deadline;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 요청 기한 초과 (504 Gateway Timeout) <br/>
+ * 기한이 지난 뒤에는 쿼리를 시작하지 않는다.
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(long overdueMillis) {
+        super("요청 기한을 초과했습니다. (" + overdueMillis + "ms)");
+    }
+}
@@ -0,0 +1,20 @@
+package study.querydsl.deadline;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 쿼리 타임아웃(요청 기한 초과로 취소된 쿼리)을 500 대신 504로 응답한다.
+ */
+@RestControllerAdvice
+public class DeadlineExceptionHandler {
+
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ExceptionHandler({QueryTimeoutException.class, javax.persistence.QueryTimeoutException.class})
+    public String queryTimeout(RuntimeException e) {
+        return "요청 기한 안에 쿼리가 끝나지 않았습니다.";
+    }
+}
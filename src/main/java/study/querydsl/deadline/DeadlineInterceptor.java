@@ -0,0 +1,52 @@
+package study.querydsl.deadline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 기한 설정 <br/>
+ * 기한 = 요청 헤더(X-Request-Timeout, ms, 최대 maxTimeoutMillis) > 엔드포인트별 기본값 > defaultTimeoutMillis <br/>
+ * 서블릿 동기 처리에서는 클라이언트 연결 종료가 응답을 쓸 때까지 드러나지 않으므로,
+ * 클라이언트가 기다리겠다고 한 시간을 쿼리 타임아웃으로 걸어 클라이언트가 포기한 뒤에도 DB가 계속 일하지 않도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private final DeadlineProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled()) {
+            RequestDeadline.begin(timeoutMillis(request), properties.getContentShare());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.end();
+    }
+
+    private long timeoutMillis(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (StringUtils.hasText(header)) {
+            try {
+                return Math.max(1, Math.min(Long.parseLong(header.trim()), properties.getMaxTimeoutMillis()));
+            } catch (NumberFormatException e) {
+                log.debug("잘못된 {} 헤더 무시 : {}", properties.getHeader(), header);
+            }
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Long endpointTimeout = pattern != null ? properties.getEndpoints().get(pattern.toString()) : null;
+        return endpointTimeout != null ? endpointTimeout : properties.getDefaultTimeoutMillis();
+    }
+}
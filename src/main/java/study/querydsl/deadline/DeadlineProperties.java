@@ -0,0 +1,30 @@
+package study.querydsl.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청 기한(deadline) 설정 <br/>
+ * application.yml의 querydsl.deadline 하위 속성과 바인딩된다.
+ */
+@Data
+@ConfigurationProperties(prefix = "querydsl.deadline")
+public class DeadlineProperties {
+    /** true : 요청 기한을 JPA 쿼리 타임아웃(javax.persistence.query.timeout)으로 적용한다. */
+    private boolean enabled = true;
+    /** 클라이언트가 기다릴 시간(ms)을 보내는 요청 헤더 */
+    private String header = "X-Request-Timeout";
+    /** 헤더가 없을 때 기본 기한(ms) */
+    private long defaultTimeoutMillis = 3000;
+    /** 헤더로 요청할 수 있는 최대 기한(ms) */
+    private long maxTimeoutMillis = 30000;
+    /** 엔드포인트(URL 패턴)별 기본 기한(ms) ex) "[/v1/members]": 2000 */
+    private Map<String, Long> endpoints = new LinkedHashMap<>();
+    /** 페이징 content 쿼리에 배분할 남은 시간 비율 (나머지는 count 쿼리) */
+    private double contentShare = 0.6;
+    /** 스트리밍 조회(/v1/members/stream) 묶음 쿼리 1회의 기한(ms) */
+    private long chunkTimeoutMillis = 3000;
+}
@@ -0,0 +1,126 @@
+package study.querydsl.deadline;
+
+import com.querydsl.jpa.impl.AbstractJPAQuery;
+import study.querydsl.limit.QueryClass;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 요청 기한 <br/>
+ * DeadlineInterceptor가 요청 시작시 기한을 정하고 종료시 제거한다. <br/>
+ * 리포지토리는 쿼리 실행 직전에 apply()로 남은 시간을 javax.persistence.query.timeout 힌트로 적용한다. <br/>
+ * - CONTENT : 남은 시간 * contentShare (뒤에 count 쿼리가 남아 있으므로) <br/>
+ * - COUNT, EXPORT, 페이징이 아닌 조회 : 남은 시간 전부 <br/>
+ * Hibernate는 힌트(ms)를 초 단위로 반올림하여 Statement.setQueryTimeout()에 넘기므로(0이면 타임아웃 없음) 초 단위로 올림하여 적용한다.
+ */
+public final class RequestDeadline {
+    public static final String QUERY_TIMEOUT_HINT = "javax.persistence.query.timeout";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void begin(long timeoutMillis, double contentShare) {
+        CURRENT.set(new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), contentShare));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /** 남은 시간(ms), 기한이 없으면 Long.MAX_VALUE */
+    public static long remainingMillis() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline.remainingMillis() : Long.MAX_VALUE;
+    }
+
+    /** 기한 시각(System.nanoTime 기준), 기한이 없으면 Long.MAX_VALUE */
+    public static long deadlineNanos() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline.deadlineNanos : Long.MAX_VALUE;
+    }
+
+    /** 현재 기한의 content 배분 비율, 기한이 없으면 1.0 */
+    public static double contentShare() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline.contentShare : 1.0;
+    }
+
+    /**
+     * 기한 안에서 실행 (다른 스레드로 넘긴 작업 등) <br/>
+     * 이미 기한이 있으면 더 이른 쪽을 따르고, 끝나면 이전 기한으로 되돌린다.
+     */
+    public static <T> T call(long timeoutMillis, double contentShare, Supplier<T> work) {
+        return callUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), contentShare, work);
+    }
+
+    /**
+     * 기한 시각(deadlineNanos(), System.nanoTime 기준)까지 실행 <br/>
+     * 다른 스레드로 넘긴 작업은 실행을 기다린 시간도 기한에 포함되도록 남은 시간 대신 기한 시각을 넘긴다.
+     */
+    public static <T> T callUntil(long deadlineNanos, double contentShare, Supplier<T> work) {
+        Deadline previous = CURRENT.get();
+        long until = previous != null && previous.deadlineNanos - deadlineNanos < 0 ? previous.deadlineNanos : deadlineNanos;
+        CURRENT.set(new Deadline(until, contentShare));
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * 남은 시간 전부를 쿼리 타임아웃 힌트로 적용 (단건/목록 조회)
+     * @throws DeadlineExceededException 이미 기한이 지남
+     */
+    public static void apply(AbstractJPAQuery<?, ?> query) {
+        apply(query, QueryClass.COUNT);
+    }
+
+    /**
+     * 남은 시간을 쿼리 타임아웃 힌트로 적용 (기한이 없으면 아무것도 하지 않는다)
+     * @throws DeadlineExceededException 이미 기한이 지남
+     */
+    public static void apply(AbstractJPAQuery<?, ?> query, QueryClass queryClass) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return;
+        }
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(-remaining);
+        }
+        double share = queryClass == QueryClass.CONTENT ? deadline.contentShare : 1.0;
+        query.setHint(QUERY_TIMEOUT_HINT, toHintMillis((long) (remaining * share)));
+    }
+
+    /** 초 단위 올림 (최소 1초) */
+    static int toHintMillis(long timeoutMillis) {
+        long seconds = Math.max(1, (timeoutMillis + 999) / 1000);
+        return (int) Math.min(Integer.MAX_VALUE, seconds * 1000);
+    }
+
+    private static class Deadline {
+        private final long deadlineNanos;
+        private final double contentShare;
+
+        private Deadline(long deadlineNanos, double contentShare) {
+            this.deadlineNanos = deadlineNanos;
+            this.contentShare = contentShare;
+        }
+
+        private long remainingMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 팀과 소속 회원 목록을 함께 반환하기 위한 DTO <br/>
+ * 엔티티를 그대로 반환하면 양방향 연관관계(Team.members <-> Member.team)로 인해 직렬화가 순환한다.
+ */
+@Data
+public class TeamMembersDto {
+    private Long teamId;
+    private String teamName;
+    private List<MemberDto> members;
+
+    public TeamMembersDto(Team team) {
+        this.teamId = team.getId();
+        this.teamName = team.getName();
+        this.members = team.getMembers().stream()
+                .map(member -> new MemberDto(member.getUsername(), member.getAge()))
+                .collect(Collectors.toList());
+    }
+}
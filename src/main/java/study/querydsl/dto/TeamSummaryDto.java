@@ -0,0 +1,29 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Value;
+
+/**
+ * 팀별 회원 집계 DTO <br/>
+ * Team.members 컬렉션을 로딩하지 않고 group by 집계 쿼리 결과만 담는다. <br/>
+ * 캐시(TeamSummaryService)에 담겨 요청 간에 공유되므로 불변 객체로 만든다.
+ */
+@Value
+public class TeamSummaryDto {
+    Long teamId;
+    String teamName;
+    long memberCount;
+    Double avgAge;   // 소속 회원이 없으면 null
+    Integer minAge;  // 소속 회원이 없으면 null
+    Integer maxAge;  // 소속 회원이 없으면 null
+
+    @QueryProjection
+    public TeamSummaryDto(Long teamId, String teamName, long memberCount, Double avgAge, Integer minAge, Integer maxAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+        this.avgAge = avgAge;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+}
@@ -4,10 +4,23 @@ import lombok.*;
 
 import javax.persistence.*;
 
+/**
+ * MemberSearchCondition 조건별 인덱스 (IndexCheck가 기동시 존재 여부를 확인한다) <br/>
+ * - username = ? : idx_member_username <br/>
+ * - 팀명(team_id IN 팀명 서브쿼리) + 나이 범위 : idx_member_team_age (team_id 동등 조건 뒤에 age 범위) <br/>
+ * - 나이 범위만 : idx_member_age <br/>
+ * team_id 외래키 제약조건도 idx_member_team_age를 사용한다. (선두 컬럼)
+ */
 @Entity
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"}) // of옵션을 통해 양방향 관계에 존재하는 객체는 제외한다.
+@NamedEntityGraph(name = "Member.withTeam", attributeNodes = @NamedAttributeNode("team")) // FetchPlan.MEMBER_WITH_TEAM
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_team_age", columnList = "team_id, age"),
+        @Index(name = "idx_member_age", columnList = "age")
+})
 public class Member {
     @Id @GeneratedValue
     @Column(name = "member_id")
@@ -35,6 +48,18 @@ public class Member {
         }
     }
 
+    /**
+     * 연관관계 주인(FK)만 설정하는 생성 메소드 <br/>
+     * Team.members(역방향 컬렉션)를 건드리지 않으므로 팀의 회원 수와 무관하게 일정한 비용으로 추가된다. <br/>
+     * em.getReference()로 얻은 팀 프록시를 넘기면 팀 조회 쿼리도 발생하지 않는다. <br/>
+     * 단, 같은 영속성 컨텍스트에서 이미 로딩된 team.getMembers()에는 반영되지 않는다. (flush 후 새로 조회시 반영)
+     */
+    public static Member createWithTeamReference(String username, int age, Team team) {
+        Member member = new Member(username, age);
+        member.team = team;
+        return member;
+    }
+
     /** M:1 & 1:M 양방향 연관관계 편의 메소드<br/>
      * Member의 team초기화<br/>
      * Team의 members초기화 */
@@ -1,6 +1,7 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -10,6 +11,9 @@ import java.util.List;
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) //JPA 기본스펙에서는 기본 생성자는 Protected Level까지 허용해 준다. (protected Team(){})
 @ToString(of = {"id", "name"}) // of옵션을 통해 양방향 관계에 존재하는 객체는 제외한다.
+@BatchSize(size = 100) // Member.team 프록시 초기화시 IN 절로 최대 100개씩 묶어서 조회 (연관관계별 설정, 전역 설정보다 우선)
+@NamedEntityGraph(name = "Team.withMembers", attributeNodes = @NamedAttributeNode("members")) // FetchPlan.TEAM_WITH_MEMBERS
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name")) // 팀명 조건 (회원 검색의 팀명 서브쿼리, TeamQueryRepository)
 
 public class Team {
 
@@ -18,6 +22,7 @@ public class Team {
     private Long id;
     private String name;
 
+    @BatchSize(size = 100) // Team.members 컬렉션 초기화시 IN 절로 최대 100개 팀씩 묶어서 조회
     @OneToMany(mappedBy = "team") //mappedBy : 연관관계의 주인이 되는 테이블에 존재하는 연관관계 객체
     private List<Member> members = new ArrayList<>();
 
@@ -0,0 +1,176 @@
+package study.querydsl.limit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 지연시간 기반 AIMD 동시 실행 한도 <br/>
+ * - 실행 중인 작업이 한도 미만이면 바로 실행, 아니면 maxWaitMillis까지 기다린 뒤 거절한다. <br/>
+ * - 완료된 작업의 지연시간이 같은 모양(shape)의 관측 최소 지연 * latencyTolerance 이하이고 한도를 절반 이상 쓰고 있었으면
+ *   한도를 1/limit 만큼 늘린다. (additive increase) <br/>
+ * - 지연시간이 기준을 넘거나 실패(Outcome.DROPPED)하면 한도에 backoffRatio를 곱한다. 단, decreaseWindowMillis에 한번만 줄인다. (multiplicative decrease) <br/>
+ * - 클라이언트 오류 등 DB 혼잡과 무관한 결과(Outcome.IGNORED)는 한도 조정에 쓰지 않는다. <br/>
+ * 최소 지연은 모양별로 따로 관측한다. 조건에 따라 비용이 크게 다른 검색(username 단건 vs 넓은 범위)을 한 기준으로 비교하면
+ * 비싼 모양이 모두 혼잡으로 보이기 때문이다. 모양이 maxShapes를 넘으면 나머지는 하나로 묶는다. <br/>
+ * 관측 최소 지연은 표본마다 조금씩(MIN_LATENCY_DRIFT) 늘려서 부하 패턴이 바뀌면 다시 학습되도록 한다. <br/>
+ * 가상 스레드에서도 캐리어를 고정하지 않도록 synchronized 대신 ReentrantLock을 사용한다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final String DEFAULT_SHAPE = "default";
+    private static final String OTHER_SHAPE = "other";
+    private static final double MIN_LATENCY_DRIFT = 1.001;
+
+    /** 작업 결과 */
+    public enum Outcome {
+        /** 정상 완료 : 지연시간으로 한도 조정 */
+        SUCCESS,
+        /** 타임아웃, DB 오류 : 혼잡으로 보고 한도 감소 */
+        DROPPED,
+        /** 클라이언트 오류 등 : 한도 조정에 쓰지 않음 */
+        IGNORED
+    }
+
+    private final String name;
+    private final ConcurrencyLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<String, Double> minLatencyNanosByShape = new HashMap<>();
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+    private long rejected;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitProperties properties) {
+        this(name, properties, System::nanoTime);
+    }
+
+    /** 테스트용 : 시계 지정 */
+    AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        this.name = name;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.limit = properties.getInitialLimit();
+    }
+
+    /**
+     * 실행 허가
+     * @param shape 지연 기준을 따로 관측할 요청 모양 (검색 조건 조합 등)
+     * @return 허가 (완료시 release), 한도 초과면 null
+     */
+    public Permit tryAcquire(String shape) {
+        lock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxWaitMillis());
+            while (inFlight >= (int) limit) {
+                if (remainingNanos <= 0) {
+                    rejected++;
+                    return null;
+                }
+                remainingNanos = released.awaitNanos(remainingNanos);
+            }
+            inFlight++;
+            return new Permit(shape != null ? shape : DEFAULT_SHAPE, inFlight, nanoClock.getAsLong());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected++;
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Permit tryAcquire() {
+        return tryAcquire(DEFAULT_SHAPE);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public class Permit {
+        private final String shape;
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(String shape, int inFlightAtStart, long startNanos) {
+            this.shape = shape;
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /** 작업 완료 */
+        public void release(Outcome outcome) {
+            release(nanoClock.getAsLong() - startNanos, outcome);
+        }
+
+        void release(long latencyNanos, Outcome outcome) {
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                inFlight--;
+                if (outcome != Outcome.IGNORED) {
+                    adjust(shape, latencyNanos, outcome == Outcome.SUCCESS, inFlightAtStart);
+                }
+                AdaptiveConcurrencyLimiter.this.released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void adjust(String shape, long latencyNanos, boolean success, int inFlightAtStart) {
+        String key = minLatencyNanosByShape.containsKey(shape) || minLatencyNanosByShape.size() < properties.getMaxShapes()
+                ? shape : OTHER_SHAPE;
+        Double previous = minLatencyNanosByShape.get(key);
+        double minLatencyNanos = previous == null ? latencyNanos : Math.min(latencyNanos, previous * MIN_LATENCY_DRIFT);
+        minLatencyNanosByShape.put(key, minLatencyNanos);
+
+        if (!success || latencyNanos > minLatencyNanos * properties.getLatencyTolerance()) {
+            long now = nanoClock.getAsLong();
+            if (!decreased || now - lastDecreaseNanos >= TimeUnit.MILLISECONDS.toNanos(properties.getDecreaseWindowMillis())) {
+                limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                lastDecreaseNanos = now;
+                decreased = true;
+            }
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(properties.getMaxLimit(), limit + 1 / limit);
+        }
+    }
+}
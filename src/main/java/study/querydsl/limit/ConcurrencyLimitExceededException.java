@@ -0,0 +1,14 @@
+package study.querydsl.limit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 동시 실행 한도 초과 (503 Service Unavailable)
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String name) {
+        super("동시 실행 한도를 초과했습니다. : " + name);
+    }
+}
@@ -0,0 +1,80 @@
+package study.querydsl.limit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * 엔드포인트(핸들러 메소드)별 동시 실행 제한 <br/>
+ * 한도를 넘으면 핸들러를 실행하지 않고 503 + Retry-After로 바로 응답한다. <br/>
+ * 요청 모양(값이 있는 파라미터 이름 조합)별로 지연 기준을 따로 관측한다. 모양은 쿼리 종류별 한도에서도 쓰도록 요청 속성에 남긴다. <br/>
+ * 4xx와 한도 초과(503)는 혼잡 신호가 아니므로 한도 조정에 쓰지 않는다. <br/>
+ * 스트리밍 응답(/v1/members/stream)은 비동기로 끝나므로 여기서 제한하지 않고 쿼리 종류(EXPORT) 한도로 제한한다. (WebConfig)
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    public static final String SHAPE_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".shape";
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimiters limiters;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!limiters.isEnabled() || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        AdaptiveConcurrencyLimiter limiter = limiters.limiter(
+                "endpoint." + handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        String shape = shapeOf(request);
+        request.setAttribute(SHAPE_ATTRIBUTE, shape);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(shape);
+        if (permit == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "동시 실행 한도 초과 : " + limiter.getName());
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof AdaptiveConcurrencyLimiter.Permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            ((AdaptiveConcurrencyLimiter.Permit) permit).release(outcomeOf(response.getStatus(), ex));
+        }
+    }
+
+    static AdaptiveConcurrencyLimiter.Outcome outcomeOf(int status, Exception ex) {
+        if (ex != null) {
+            return ConcurrencyLimiters.outcomeOf(ex);
+        }
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status < 500 && status >= 400) {
+            return AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        }
+        return status >= 500 ? AdaptiveConcurrencyLimiter.Outcome.DROPPED : AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+    }
+
+    /** 값이 있는 파라미터 이름 조합 (예: ageGoe,teamName) */
+    static String shapeOf(HttpServletRequest request) {
+        return Collections.list(request.getParameterNames()).stream()
+                .filter(name -> {
+                    String value = request.getParameter(name);
+                    return value != null && !value.isBlank();
+                })
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
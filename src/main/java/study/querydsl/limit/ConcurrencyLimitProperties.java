@@ -0,0 +1,31 @@
+package study.querydsl.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 동시 실행 제한 설정 (AdaptiveConcurrencyLimiter) <br/>
+ * application.yml의 querydsl.concurrency-limit 하위 속성과 바인딩된다.
+ */
+@Data
+@ConfigurationProperties(prefix = "querydsl.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    /** true : 회원/팀 API(엔드포인트별)와 쿼리 종류별(content, count, export) 동시 실행 수를 제한한다. */
+    private boolean enabled = false;
+    /** 시작 한도 */
+    private int initialLimit = 20;
+    /** 최소 한도 (지연이 계속 늘어도 이 아래로 줄이지 않는다) */
+    private int minLimit = 4;
+    /** 최대 한도 */
+    private int maxLimit = 200;
+    /** 지연시간이 같은 모양(shape) 요청의 관측 최소 지연의 이 배수를 넘으면 혼잡으로 판단한다. */
+    private double latencyTolerance = 2.0;
+    /** 혼잡시 한도 감소 비율 (multiplicative decrease) */
+    private double backoffRatio = 0.9;
+    /** 한도 감소는 이 시간(ms)에 한번만 한다. (느린 요청 여러 건이 몰려도 한번만 줄인다) */
+    private long decreaseWindowMillis = 1000;
+    /** 최소 지연을 따로 관측하는 모양(shape)의 최대 개수 (초과분은 하나로 묶는다) */
+    private int maxShapes = 64;
+    /** 한도 초과시 대기 시간(ms), 0이면 바로 거절한다. (대기 후에도 자리가 없으면 503) */
+    private long maxWaitMillis = 20;
+}
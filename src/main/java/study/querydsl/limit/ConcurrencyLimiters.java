@@ -0,0 +1,94 @@
+package study.querydsl.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import study.querydsl.deadline.DeadlineExceededException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 이름별 동시 실행 한도 모음 (엔드포인트, 쿼리 종류) <br/>
+ * 한도별로 concurrency.limit, concurrency.in.flight, concurrency.rejected 지표를 남긴다. (name 태그) <br/>
+ * 쿼리 종류별 한도는 요청 모양(ConcurrencyLimitInterceptor.SHAPE_ATTRIBUTE)별로 지연 기준을 따로 관측한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimiters {
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public AdaptiveConcurrencyLimiter limiter(String name) {
+        return limiters.computeIfAbsent(name, this::create);
+    }
+
+    /**
+     * 쿼리 종류별 한도 안에서 실행
+     * @throws ConcurrencyLimitExceededException 한도 초과
+     */
+    public <T> T call(QueryClass queryClass, Supplier<T> query) {
+        if (!properties.isEnabled()) {
+            return query.get();
+        }
+        AdaptiveConcurrencyLimiter limiter = limiter("query." + queryClass.name().toLowerCase());
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(currentShape());
+        if (permit == null) {
+            throw new ConcurrencyLimitExceededException(limiter.getName());
+        }
+        AdaptiveConcurrencyLimiter.Outcome outcome = AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        try {
+            T result = query.get();
+            outcome = AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            permit.release(outcome);
+        }
+    }
+
+    /**
+     * 예외를 한도 조정 결과로 분류 <br/>
+     * 타임아웃, 일시적인 DB 오류만 혼잡(DROPPED)으로 보고, 잘못된 요청 등 나머지는 조정에 쓰지 않는다.
+     */
+    static AdaptiveConcurrencyLimiter.Outcome outcomeOf(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof javax.persistence.QueryTimeoutException
+                    || cause instanceof DeadlineExceededException) {
+                return AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+            }
+        }
+        return AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+    }
+
+    private static String currentShape() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object shape = attributes != null
+                ? attributes.getAttribute(ConcurrencyLimitInterceptor.SHAPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+        return shape != null ? shape.toString() : AdaptiveConcurrencyLimiter.DEFAULT_SHAPE;
+    }
+
+    private AdaptiveConcurrencyLimiter create(String name) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, properties);
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).tag("name", name).register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight).tag("name", name).register(meterRegistry);
+        FunctionCounter.builder("concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected).tag("name", name).register(meterRegistry);
+        return limiter;
+    }
+}
@@ -0,0 +1,14 @@
+package study.querydsl.limit;
+
+/**
+ * 동시 실행 제한 쿼리 종류 <br/>
+ * 비용이 다른 쿼리끼리 한도를 나누어 count 쿼리가 몰려도 content 조회가 밀리지 않도록 한다.
+ */
+public enum QueryClass {
+    /** 페이지 내용 조회 (offset/limit) */
+    CONTENT,
+    /** 페이지 전체 건수 조회 */
+    COUNT,
+    /** 스트리밍/대량 조회 (/v1/members/stream) */
+    EXPORT
+}
@@ -0,0 +1,132 @@
+package study.querydsl.monitor;
+
+import com.p6spy.engine.spy.appender.MessageFormattingStrategy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 SQL 로그 출력 <br/>
+ * 요청 스레드 : 원본 SQL, 실행시간, 카테고리만 고정 크기 버퍼에 담는다. (포맷팅 X, 버퍼가 가득 차면 버린다) <br/>
+ * 백그라운드 스레드 : 버퍼에서 꺼내 하이버네이트 포맷터로 포맷팅 후 로그를 남긴다. <br/>
+ * 종료(stop) 시 버퍼에 남은 로그를 모두 출력한 뒤 끝낸다.
+ */
+@Slf4j
+public class AsyncSqlLogWriter {
+
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final SqlLogProperties properties;
+    private final MessageFormattingStrategy formatter;
+    private final BlockingQueue<Entry> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public AsyncSqlLogWriter(SqlLogProperties properties, MessageFormattingStrategy formatter) {
+        this.properties = properties;
+        this.formatter = formatter;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        this.worker = new Thread(this::drain, "sql-log-writer");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    /** 버퍼에 남은 로그를 출력할 때까지 (최대 STOP_TIMEOUT_MILLIS) 기다린다. */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 요청 스레드에서 호출 <br/>
+     * 느린 SQL은 항상, 나머지는 sampleRate 비율로 버퍼에 담는다.
+     * @return 버퍼에 담겼으면 true
+     */
+    public boolean offer(int connectionId, long elapsedMillis, String category, String sql) {
+        if (!running) {
+            return false;
+        }
+        boolean slow = elapsedMillis >= properties.getSlowThresholdMillis();
+        if (!slow && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return false;
+        }
+        if (!buffer.offer(new Entry(connectionId, System.currentTimeMillis(), elapsedMillis, category, sql))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /** 버퍼가 가득 차서 버려진 로그 건수 */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        long reportedDropped = 0;
+        while (running) {
+            try {
+                Entry entry = buffer.poll(1, TimeUnit.SECONDS);
+                if (entry != null) {
+                    write(entry);
+                }
+                long currentDropped = dropped.get();
+                if (currentDropped != reportedDropped) {
+                    log.warn("SQL 로그 버퍼 초과로 {}건 유실 (누적)", currentDropped);
+                    reportedDropped = currentDropped;
+                }
+            } catch (InterruptedException e) {
+                // stop() : running = false 이므로 루프를 빠져나가 남은 로그를 출력한다.
+            } catch (RuntimeException e) {
+                log.warn("SQL 로그 출력 실패", e);
+            }
+        }
+        flush();
+    }
+
+    /** 종료 시 버퍼에 남은 로그 출력 */
+    private void flush() {
+        Entry entry;
+        while ((entry = buffer.poll()) != null) {
+            try {
+                write(entry);
+            } catch (RuntimeException e) {
+                log.warn("SQL 로그 출력 실패", e);
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        log.info(formatter.formatMessage(entry.connectionId, String.valueOf(entry.now),
+                entry.elapsedMillis, entry.category, "", entry.sql, ""));
+    }
+
+    private static class Entry {
+        private final int connectionId;
+        private final long now;
+        private final long elapsedMillis;
+        private final String category;
+        private final String sql;
+
+        private Entry(int connectionId, long now, long elapsedMillis, String category, String sql) {
+            this.connectionId = connectionId;
+            this.now = now;
+            this.elapsedMillis = elapsedMillis;
+            this.category = category;
+            this.sql = sql;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package study.querydsl.monitor;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 하이버네이트가 생성한 SQL 앞에 요청 endpoint 주석을 붙인다. <br/>
+ * ex) /* endpoint=MemberController.searchMemberV1 *&#47; select ... <br/>
+ * H2, P6Spy 로그에서 어떤 API가 실행한 SQL인지 바로 확인할 수 있다. <br/>
+ * trace id는 요청마다 달라서 SQL 문자열이 매번 달라지면 PreparedStatement/실행계획 캐시를 재사용할 수 없으므로 <br/>
+ * 주석에는 개수가 제한된 endpoint만 넣고, trace id는 로그/지표/느린 쿼리 기록에만 남긴다. <br/>
+ * 설정 : spring.jpa.properties.hibernate.session_factory.statement_inspector
+ */
+public class EndpointCommentInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        String endpoint = SqlAttribution.endpoint();
+        if (endpoint == null) {
+            return sql;
+        }
+        return "/* endpoint=" + endpoint.replace("*/", "") + " */ " + sql;
+    }
+}
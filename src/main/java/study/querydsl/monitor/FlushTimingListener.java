@@ -0,0 +1,41 @@
+package study.querydsl.monitor;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * 세션 단위 flush 시간 측정 <br/>
+ * hibernate.session.events.auto 설정으로 세션마다 생성된다. (기본 생성자 필요) <br/>
+ * flush(커밋, 명시적 flush)는 바로 기록한다. <br/>
+ * partial flush(JPQL 실행 전 auto flush)는 변경이 없어도 쿼리마다 호출되므로 시간만 넘기고,
+ * 실제로 flush했는지는 HibernateSessionMetrics(AUTO_FLUSH)가 판단해서 기록한다.
+ */
+public class FlushTimingListener extends BaseSessionEventListener {
+
+    private long flushStart;
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.recordFlush(System.nanoTime() - flushStart);
+        }
+    }
+
+    @Override
+    public void partialFlushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.recordPartialFlush(System.nanoTime() - flushStart);
+        }
+    }
+}
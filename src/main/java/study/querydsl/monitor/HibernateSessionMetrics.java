@@ -0,0 +1,80 @@
+package study.querydsl.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 하이버네이트 이벤트 리스너 (요청 단위 영속성 컨텍스트 지표) <br/>
+ * POST_LOAD : 로딩된 엔티티 수, 영속성 컨텍스트(1차 캐시)의 관리 엔티티 수 <br/>
+ * INIT_COLLECTION : 초기화된 컬렉션 수 (기본 리스너가 초기화한 뒤 호출되도록 뒤에 추가) <br/>
+ * FLUSH : flush 후 관리 엔티티 수 <br/>
+ * AUTO_FLUSH : 실제로 flush한 auto flush만 횟수/시간(FlushTimingListener가 잰 시간)으로 기록 <br/>
+ * flush 시간은 세션마다 생성되는 FlushTimingListener가 잰다. <br/>
+ * 기록 대상은 SqlStatementMonitor의 현재 범위(HTTP 요청 혹은 테스트)이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateSessionMetrics implements PostLoadEventListener, InitializeCollectionEventListener,
+        FlushEventListener, AutoFlushEventListener {
+
+    private final EntityManagerFactory emf;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+        registry.appendListeners(EventType.FLUSH, this);
+        registry.appendListeners(EventType.AUTO_FLUSH, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.recordEntityLoad(event.getSession().getPersistenceContext().getNumberOfManagedEntities());
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.recordCollectionInitialize();
+        }
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) throws HibernateException {
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.recordManagedEntities(event.getSession().getPersistenceContext().getNumberOfManagedEntities());
+        }
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.recordAutoFlush(event.isFlushRequired(),
+                    event.getSession().getPersistenceContext().getNumberOfManagedEntities());
+        }
+    }
+}
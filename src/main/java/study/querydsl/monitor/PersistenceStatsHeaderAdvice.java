@@ -0,0 +1,39 @@
+package study.querydsl.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 디버그 응답 헤더 (querydsl.sql-monitor.debug-header: true) <br/>
+ * 응답 본문을 쓰기 직전에 현재 요청의 SQL/영속성 컨텍스트 지표를 X-Persistence-Stats 헤더로 내려준다. <br/>
+ * ex) X-Persistence-Stats: statements=2;jdbcMs=3;entities=0;collections=0;flushes=0;flushMs=0;peakManaged=0
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class PersistenceStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+    public static final String HEADER_NAME = "X-Persistence-Stats";
+
+    private final SqlMonitorProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isDebugHeader();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            response.getHeaders().add(HEADER_NAME, statistics.summary());
+        }
+        return body;
+    }
+}
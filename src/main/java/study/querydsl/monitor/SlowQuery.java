@@ -0,0 +1,31 @@
+package study.querydsl.monitor;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 느린 쿼리 기록 <br/>
+ * 실행계획(plan)은 백그라운드에서 EXPLAIN ANALYZE 실행 후 채워진다.
+ */
+@Getter
+public class SlowQuery {
+    private final String sql;
+    private final long elapsedMillis;
+    private final String endpoint;
+    private final String traceId;
+    private final LocalDateTime capturedAt;
+    private volatile String plan;
+
+    public SlowQuery(String sql, long elapsedMillis, String endpoint, String traceId, LocalDateTime capturedAt) {
+        this.sql = sql;
+        this.elapsedMillis = elapsedMillis;
+        this.endpoint = endpoint;
+        this.traceId = traceId;
+        this.capturedAt = capturedAt;
+    }
+
+    void changePlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,31 @@
+package study.querydsl.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 느린 쿼리 조회 Actuator 엔드포인트 <br/>
+ * GET    http://localhost:8080/actuator/slowqueries : SQL(바인딩 값 포함), 실행시간, 요청 URL, 실행계획 <br/>
+ * DELETE http://localhost:8080/actuator/slowqueries : 기록 초기화
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+    private final SlowQueryStore slowQueryStore;
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueryStore.findAll();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryStore.clear();
+    }
+}
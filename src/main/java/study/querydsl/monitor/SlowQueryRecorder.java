@@ -0,0 +1,110 @@
+package study.querydsl.monitor;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DecoratedDataSource;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 쿼리 기록 <br/>
+ * slowQueryThresholdMillis 이상 걸린 SQL을 바인딩 값, 실행시간, 요청 URL과 함께 SlowQueryStore에 보관한다. <br/>
+ * select는 별도 스레드/별도 커넥션에서 H2 EXPLAIN ANALYZE를 실행하여 실행계획(인덱스 사용 여부)을 함께 남긴다. <br/>
+ * 실행계획 조회는 P6Spy로 감싸기 전의 원본 DataSource에서 실행하므로 SQL 로그/지표(sql.statement, 요청 단위 집계)에 잡히지 않는다. <br/>
+ * DataSource는 이 리스너를 포함하여 P6Spy로 감싸지므로 순환참조를 피하기 위해 ObjectProvider로 지연 조회한다.
+ */
+@Slf4j
+@Component
+public class SlowQueryRecorder extends JdbcEventListener implements DisposableBean {
+    private static final String EXPLAIN = "EXPLAIN ANALYZE ";
+
+    private final SqlMonitorProperties properties;
+    private final SlowQueryStore slowQueryStore;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final ExecutorService explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy()); // 실행계획 대기열이 가득 차면 실행계획 없이 기록만 남긴다.
+
+    public SlowQueryRecorder(SqlMonitorProperties properties, SlowQueryStore slowQueryStore, ObjectProvider<DataSource> dataSourceProvider) {
+        this.properties = properties;
+        this.slowQueryStore = slowQueryStore;
+        this.dataSourceProvider = dataSourceProvider;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos);
+        if (elapsedMillis < properties.getSlowQueryThresholdMillis()) {
+            return;
+        }
+        String sql = statementInformation.getSqlWithValues();
+        if (sql == null || sql.regionMatches(true, 0, EXPLAIN, 0, EXPLAIN.length())) {
+            return; // 실행계획 조회 자체는 기록하지 않는다.
+        }
+        SlowQuery slowQuery = new SlowQuery(sql, elapsedMillis, currentEndpoint(), SqlAttribution.traceId(), LocalDateTime.now());
+        slowQueryStore.add(slowQuery);
+        log.warn("느린 쿼리 {}ms [{}] trace={} {}", elapsedMillis, slowQuery.getEndpoint(), slowQuery.getTraceId(), sql);
+        if (properties.isExplainSlowQueries() && SqlFingerprint.isSelect(SqlFingerprint.of(sql))) {
+            explainExecutor.execute(() -> slowQuery.changePlan(explain(sql)));
+        }
+    }
+
+    private String explain(String sql) {
+        try (Connection connection = realDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(EXPLAIN + sql)) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append(System.lineSeparator());
+            }
+            return plan.toString();
+        } catch (SQLException ex) {
+            return "EXPLAIN 실패 : " + ex.getMessage();
+        }
+    }
+
+    /** P6Spy 데코레이터를 벗긴 원본 DataSource */
+    private DataSource realDataSource() {
+        DataSource dataSource = dataSourceProvider.getObject();
+        if (dataSource instanceof DecoratedDataSource) {
+            return ((DecoratedDataSource) dataSource).getRealDataSource();
+        }
+        return dataSource;
+    }
+
+    /** 요청 URL (쿼리스트링 포함), 요청 스레드가 아니면 스레드명 */
+    private String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            String queryString = request.getQueryString();
+            return request.getMethod() + " " + request.getRequestURI() + (queryString != null ? "?" + queryString : "");
+        }
+        return Thread.currentThread().getName();
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+package study.querydsl.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 느린 쿼리 보관소 (메모리) <br/>
+ * slowQueryCapacity 개까지 보관하고 초과시 가장 오래된 기록부터 버린다. <br/>
+ * 요청 스레드(JDBC 리스너)에서 호출되므로 synchronized 대신 ReentrantLock을 사용한다. (가상 스레드 캐리어 고정 방지)
+ */
+@Component
+@RequiredArgsConstructor
+public class SlowQueryStore {
+    private final SqlMonitorProperties properties;
+    private final Deque<SlowQuery> queries = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public void add(SlowQuery slowQuery) {
+        lock.lock();
+        try {
+            while (queries.size() >= properties.getSlowQueryCapacity()) {
+                queries.pollFirst();
+            }
+            queries.addLast(slowQuery);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 최근 기록부터 반환 */
+    public List<SlowQuery> findAll() {
+        lock.lock();
+        try {
+            List<SlowQuery> result = new ArrayList<>(queries.size());
+            queries.descendingIterator().forEachRemaining(result::add);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            queries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package study.querydsl.monitor;
+
+/**
+ * 현재 스레드에서 실행되는 SQL의 출처 (endpoint, trace) <br/>
+ * endpoint : 요청을 처리하는 핸들러 메소드 (ex. MemberController.searchMemberV1) -> SQL 주석, 지표 태그 <br/>
+ * trace : 요청 식별자 (X-Trace-Id 헤더 혹은 생성값) -> 로그, 느린 쿼리 기록 <br/>
+ * SqlAttributionInterceptor가 요청 시작시 설정하고 종료시 제거한다.
+ */
+public final class SqlAttribution {
+
+    private static final ThreadLocal<SqlAttribution> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final String traceId;
+
+    private SqlAttribution(String endpoint, String traceId) {
+        this.endpoint = endpoint;
+        this.traceId = traceId;
+    }
+
+    public static void set(String endpoint, String traceId) {
+        CURRENT.set(new SqlAttribution(endpoint, traceId));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** 현재 endpoint (요청 스레드가 아니면 null) */
+    public static String endpoint() {
+        SqlAttribution attribution = CURRENT.get();
+        return attribution != null ? attribution.endpoint : null;
+    }
+
+    /** 현재 trace id (요청 스레드가 아니면 null) */
+    public static String traceId() {
+        SqlAttribution attribution = CURRENT.get();
+        return attribution != null ? attribution.traceId : null;
+    }
+}
@@ -0,0 +1,58 @@
+package study.querydsl.monitor;
+
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.UUID;
+
+/**
+ * 요청 단위 SQL 출처(endpoint, trace) 설정 <br/>
+ * trace id : 요청 헤더 X-Trace-Id가 있으면 사용하고 없으면 생성하여 응답 헤더와 로그 MDC(traceId)에 남긴다. <br/>
+ * 비동기 응답(/v1/members/stream 등)은 요청 스레드에서 afterCompletion이 호출되지 않으므로 afterConcurrentHandlingStarted에서 제거한다.
+ */
+@Component
+public class SqlAttributionInterceptor implements AsyncHandlerInterceptor {
+    public static final String TRACE_HEADER = "X-Trace-Id";
+    public static final String TRACE_MDC_KEY = "traceId";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String traceId = request.getHeader(TRACE_HEADER);
+        if (!StringUtils.hasText(traceId)) {
+            traceId = UUID.randomUUID().toString().substring(0, 8);
+        }
+        SqlAttribution.set(endpointOf(handler), traceId);
+        MDC.put(TRACE_MDC_KEY, traceId);
+        response.setHeader(TRACE_HEADER, traceId);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        clear();
+    }
+
+    private void clear() {
+        SqlAttribution.clear();
+        MDC.remove(TRACE_MDC_KEY);
+    }
+
+    /** 핸들러 메소드가 아니면(정적 리소스 등) null : URL을 그대로 쓰면 태그 카디널리티가 제한되지 않는다. */
+    private String endpointOf(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return null;
+    }
+}
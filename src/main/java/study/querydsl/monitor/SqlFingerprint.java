@@ -0,0 +1,43 @@
+package study.querydsl.monitor;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 정규화(Fingerprint) 유틸 <br/>
+ * 리터럴/바인딩 값, IN 목록 길이, 주석, 공백 차이를 제거하여 "같은 모양의 쿼리"를 하나의 키로 묶는다. <br/>
+ * ex) select ... where team_id=1 / select ... where team_id=2 -> select ... where team_id=?
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * SQL 정규화
+     * @param sql 원본 SQL (prepared 혹은 값이 바인딩된 SQL 모두 가능)
+     * @return 정규화된 SQL (소문자, 리터럴 -> ?, IN 목록 -> in (?...))
+     */
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String normalized = COMMENT.matcher(sql).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        return normalized.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** 정규화된 SQL이 select문인지 확인 */
+    public static boolean isSelect(String fingerprint) {
+        return fingerprint.startsWith("select");
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.monitor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL 로그 설정 <br/>
+ * application.yml의 querydsl.sql-log 하위 속성과 바인딩된다.
+ */
+@Data
+@ConfigurationProperties(prefix = "querydsl.sql-log")
+public class SqlLogProperties {
+    /**
+     * true : 요청 스레드는 원본 SQL만 버퍼에 담고, 포맷팅/출력은 백그라운드 스레드에서 처리한다. <br/>
+     * (P6Spy 기본 로깅은 중복되지 않도록 자동으로 끈다)
+     */
+    private boolean async = false;
+    /** 비동기 버퍼 크기 (가득 차면 버리고 유실 건수를 센다) */
+    private int bufferSize = 1024;
+    /** 샘플링 비율 (0.0 ~ 1.0) */
+    private double sampleRate = 1.0;
+    /** 이 시간(ms) 이상 걸린 SQL은 샘플링과 관계없이 항상 기록한다. */
+    private long slowThresholdMillis = 100;
+}
@@ -0,0 +1,83 @@
+package study.querydsl.monitor;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 모양(Fingerprint)별 지연시간/조회 건수 지표 <br/>
+ * sql.statement (Timer) : 실행시간, p50/p99 + 히스토그램 <br/>
+ * sql.rows (DistributionSummary) : select 결과 건수 (ResultSet close 시점에 기록) <br/>
+ * 태그 : shape(SqlShapeRegistry 식별자), category(select, insert, update, delete ...), endpoint(SqlAttribution 핸들러 메소드) <br/>
+ * ex) searchComplex의 content 쿼리와 count 쿼리는 서로 다른 shape으로 집계된다. <br/>
+ * MeterRegistry의 DataSource 지표 바인딩이 P6Spy로 감싼 DataSource(이 리스너 포함)를 필요로 하므로 순환참조를 피하기 위해 ObjectProvider로 지연 조회한다.
+ */
+@Component
+public class SqlMetricsListener extends JdbcEventListener {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final SqlShapeRegistry sqlShapeRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+    private final Map<ResultSetInformation, Integer> rowCounts = new ConcurrentHashMap<>();
+
+    public SqlMetricsListener(ObjectProvider<MeterRegistry> meterRegistry, SqlShapeRegistry sqlShapeRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.sqlShapeRegistry = sqlShapeRegistry;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String fingerprint = SqlFingerprint.of(statementInformation.getSql());
+        String shape = sqlShapeRegistry.idOf(fingerprint);
+        String category = SqlShapeRegistry.categoryOf(fingerprint);
+        String endpoint = endpointTag();
+        timers.computeIfAbsent(shape + ":" + category + ":" + endpoint, key -> Timer.builder("sql.statement")
+                        .description("SQL 모양별 실행시간")
+                        .tag("shape", shape)
+                        .tag("category", category)
+                        .tag("endpoint", endpoint)
+                        .publishPercentiles(0.5, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry.getObject()))
+                .record(timeElapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos, boolean hasNext, SQLException e) {
+        if (hasNext) {
+            rowCounts.merge(resultSetInformation, 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        Integer rows = rowCounts.remove(resultSetInformation);
+        String fingerprint = SqlFingerprint.of(resultSetInformation.getStatementInformation().getSql());
+        String shape = sqlShapeRegistry.idOf(fingerprint);
+        String endpoint = endpointTag();
+        rowSummaries.computeIfAbsent(shape + ":" + endpoint, key -> DistributionSummary.builder("sql.rows")
+                        .description("SQL 모양별 조회 건수")
+                        .tag("shape", shape)
+                        .tag("category", SqlShapeRegistry.categoryOf(fingerprint))
+                        .tag("endpoint", endpoint)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry.getObject()))
+                .record(rows != null ? rows : 0);
+    }
+
+    private String endpointTag() {
+        String endpoint = SqlAttribution.endpoint();
+        return endpoint != null ? endpoint : "none";
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.monitor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL 실행 횟수 모니터링 설정 <br/>
+ * application.yml의 querydsl.sql-monitor 하위 속성과 바인딩된다.
+ */
+@Data
+@ConfigurationProperties(prefix = "querydsl.sql-monitor")
+public class SqlMonitorProperties {
+    /** 모니터링 사용 여부 */
+    private boolean enabled = true;
+    /** HTTP 요청(테스트) 1건당 허용하는 최대 SQL 실행 횟수 */
+    private int maxStatements = 20;
+    /** 같은 모양의 select가 이 횟수 이상 반복되면 N+1로 판단한다. */
+    private int repeatedSelectThreshold = 3;
+    /** 값까지 동일한 SQL이 이 횟수 이상 실행되면 중복 실행으로 판단한다. */
+    private int duplicateExecutionThreshold = 2;
+    /** true : 임계치 초과시 테스트를 실패시킨다. (HTTP 요청은 로그만 남긴다) */
+    private boolean failOnViolation = false;
+    /** 지표 태그로 사용할 SQL 모양(Fingerprint)의 최대 개수 (초과분은 shape=other로 집계하여 태그 카디널리티를 제한한다) */
+    private int maxMetricShapes = 200;
+    /** 이 시간(ms) 이상 걸린 SQL을 느린 쿼리로 기록한다. */
+    private long slowQueryThresholdMillis = 500;
+    /** 느린 쿼리 보관 개수 (초과시 오래된 것부터 버린다) */
+    private int slowQueryCapacity = 100;
+    /** true : 느린 select는 별도 커넥션에서 EXPLAIN ANALYZE 실행계획을 함께 기록한다. (쿼리가 한번 더 실행된다) */
+    private boolean explainSlowQueries = true;
+    /** true : 응답 헤더(X-Persistence-Stats)에 요청 단위 SQL/영속성 컨텍스트 지표를 내려준다. */
+    private boolean debugHeader = false;
+}
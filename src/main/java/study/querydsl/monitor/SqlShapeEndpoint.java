@@ -0,0 +1,25 @@
+package study.querydsl.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * SQL 모양 식별자 조회 Actuator 엔드포인트 <br/>
+ * URL : http://localhost:8080/actuator/sqlshapes <br/>
+ * /actuator/metrics/sql.statement?tag=shape:{id} 의 shape 태그가 어떤 SQL인지 확인할 때 사용한다.
+ */
+@Component
+@Endpoint(id = "sqlshapes")
+@RequiredArgsConstructor
+public class SqlShapeEndpoint {
+    private final SqlShapeRegistry sqlShapeRegistry;
+
+    @ReadOperation
+    public Map<String, String> shapes() {
+        return sqlShapeRegistry.shapes();
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.monitor;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * SQL 모양(Fingerprint) -> 지표 태그용 짧은 식별자 <br/>
+ * 태그 카디널리티 제한 : maxMetricShapes 개까지만 등록하고 이후 새로운 모양은 "other"로 묶는다. <br/>
+ * 식별자는 정규화된 SQL의 SHA-256 앞 16자리(재기동해도 같은 값)이며, 다른 모양과 겹치면 뒤에 순번을 붙여 서로 다른 식별자를 보장한다. <br/>
+ * 식별자와 정규화된 SQL의 매핑은 /actuator/sqlshapes 에서 확인한다.
+ */
+@Component
+public class SqlShapeRegistry {
+    public static final String OTHER = "other";
+
+    private static final int ID_LENGTH = 16;
+
+    private final SqlMonitorProperties properties;
+    private final Map<String, String> idByShape = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeById = new ConcurrentHashMap<>();
+    private final Function<String, String> digest;
+
+    public SqlShapeRegistry(SqlMonitorProperties properties) {
+        this(properties, SqlShapeRegistry::digest);
+    }
+
+    /** 테스트용 : 식별자 생성 함수 지정 (충돌 재현) */
+    SqlShapeRegistry(SqlMonitorProperties properties, Function<String, String> digest) {
+        this.properties = properties;
+        this.digest = digest;
+    }
+
+    /**
+     * @param fingerprint SqlFingerprint.of()로 정규화된 SQL
+     * @return 16자리 16진수 식별자 (한도 초과시 other)
+     */
+    public String idOf(String fingerprint) {
+        String id = idByShape.get(fingerprint);
+        if (id != null) {
+            return id;
+        }
+        if (idByShape.size() >= properties.getMaxMetricShapes()) {
+            return OTHER;
+        }
+        return idByShape.computeIfAbsent(fingerprint, this::register);
+    }
+
+    /** 식별자 -> 정규화된 SQL */
+    public Map<String, String> shapes() {
+        return Collections.unmodifiableMap(new TreeMap<>(shapeById));
+    }
+
+    private String register(String fingerprint) {
+        String base = digest.apply(fingerprint);
+        String id = base;
+        for (int sequence = 1; shapeById.putIfAbsent(id, fingerprint) != null; sequence++) {
+            id = base + "-" + sequence; // 앞 16자리가 겹치는 다른 모양
+        }
+        return id;
+    }
+
+    static String digest(String fingerprint) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(ID_LENGTH);
+            for (int i = 0; i < ID_LENGTH / 2; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 정규화된 SQL의 첫 단어 (select, insert, update, delete, call ...) */
+    public static String categoryOf(String fingerprint) {
+        int end = fingerprint.indexOf(' ');
+        return end > 0 ? fingerprint.substring(0, end) : fingerprint;
+    }
+}
@@ -0,0 +1,66 @@
+package study.querydsl.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP 요청 단위 SQL 실행 횟수 집계 <br/>
+ * 요청이 끝나면 실행 횟수를 남기고, 임계치를 넘으면(N+1, 중복 실행 등) WARN 로그를 남긴다. <br/>
+ * 요청 단위 SQL/영속성 컨텍스트 지표를 http.persistence.* 지표로 기록한다. (endpoint 태그 : 매핑된 URL 패턴) <br/>
+ * 비동기 응답은 요청 스레드에서 afterCompletion이 호출되지 않으므로 afterConcurrentHandlingStarted에서 집계를 끝낸다.
+ * (이후 SQL은 다른 스레드에서 실행되므로 요청 단위로 집계하지 않는다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlStatementCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled()) {
+            SqlStatementMonitor.begin(request.getMethod() + " " + request.getRequestURI());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementMonitor.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+        if (statistics == null) {
+            return;
+        }
+        log.debug("[{}] {}", statistics.getName(), statistics.summary());
+        List<String> violations = statistics.violations(properties);
+        violations.forEach(log::warn);
+        recordMetrics(request, statistics);
+    }
+
+    private void recordMetrics(HttpServletRequest request, SqlStatementStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : "unknown";
+        meterRegistry.summary("http.persistence.statements", "endpoint", endpoint).record(statistics.getStatementCount());
+        meterRegistry.summary("http.persistence.entities.loaded", "endpoint", endpoint).record(statistics.getEntitiesLoaded());
+        meterRegistry.summary("http.persistence.collections.initialized", "endpoint", endpoint).record(statistics.getCollectionsInitialized());
+        meterRegistry.summary("http.persistence.flushes", "endpoint", endpoint).record(statistics.getFlushCount());
+        meterRegistry.summary("http.persistence.managed.entities.peak", "endpoint", endpoint).record(statistics.getPeakManagedEntities());
+        meterRegistry.timer("http.persistence.flush.time", "endpoint", endpoint).record(statistics.getFlushMillis(), TimeUnit.MILLISECONDS);
+        meterRegistry.timer("http.persistence.jdbc.time", "endpoint", endpoint).record(statistics.getElapsedMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,31 @@
+package study.querydsl.monitor;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * P6Spy JDBC 이벤트 리스너 <br/>
+ * P6SpyFormatter와 마찬가지로 빈으로 등록하면 p6spy-spring-boot-starter가 리스너로 추가한다. <br/>
+ * execute, executeQuery, executeUpdate, executeBatch 모두 onAfterAnyExecute를 거친다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatementListener extends JdbcEventListener {
+
+    private final SqlMonitorProperties properties;
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        SqlStatementStatistics statistics = SqlStatementMonitor.current();
+        if (statistics != null) {
+            statistics.record(statementInformation.getSqlWithValues(), timeElapsedNanos);
+        }
+    }
+}
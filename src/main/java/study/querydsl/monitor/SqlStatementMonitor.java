@@ -0,0 +1,34 @@
+package study.querydsl.monitor;
+
+/**
+ * 현재 스레드의 SQL 통계 범위를 관리한다. <br/>
+ * begin() ~ end() 사이에 실행된 SQL이 SqlStatementListener에 의해 집계된다. <br/>
+ * -> HTTP 요청 : SqlStatementCountInterceptor <br/>
+ * -> 테스트 : SqlStatementCountExtension (src/test)
+ */
+public final class SqlStatementMonitor {
+
+    private static final ThreadLocal<SqlStatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementMonitor() {
+    }
+
+    /** 집계 시작 */
+    public static SqlStatementStatistics begin(String name) {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(name);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /** 현재 집계중인 통계 (집계중이 아니면 null) */
+    public static SqlStatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    /** 집계 종료 후 결과 반환 */
+    public static SqlStatementStatistics end() {
+        SqlStatementStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+}
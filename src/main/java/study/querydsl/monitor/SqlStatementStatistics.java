@@ -0,0 +1,181 @@
+package study.querydsl.monitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 하나의 범위(HTTP 요청 혹은 테스트 메소드)에서 실행된 SQL 통계 <br/>
+ * 정규화된 SQL(Fingerprint)별 실행 횟수와 값까지 동일한 SQL의 실행 횟수를 함께 집계한다. <br/>
+ * 영속성 컨텍스트 지표(로딩된 엔티티, 초기화된 컬렉션, flush 횟수/시간, 관리 엔티티 최대 개수)는 HibernateSessionMetrics가 기록한다. <br/>
+ * 한 스레드에서만 사용되므로 동기화하지 않는다. (SqlStatementMonitor의 ThreadLocal에 보관)
+ */
+public class SqlStatementStatistics {
+
+    /** 범위 하나에서 보관할 최대 SQL 종류 (메모리 보호) */
+    private static final int MAX_TRACKED = 1_000;
+
+    private final String name;
+    private int statementCount;
+    private long elapsedNanos;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private int entitiesLoaded;
+    private int collectionsInitialized;
+    private int flushCount;
+    private long flushNanos;
+    private long pendingPartialFlushNanos;
+    private int peakManagedEntities;
+
+    public SqlStatementStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * SQL 실행 기록
+     * @param sqlWithValues 값이 바인딩된 SQL
+     * @param elapsedNanos 실행 시간
+     */
+    public void record(String sqlWithValues, long elapsedNanos) {
+        this.statementCount++;
+        this.elapsedNanos += elapsedNanos;
+        increment(shapes, SqlFingerprint.of(sqlWithValues));
+        increment(executions, sqlWithValues);
+    }
+
+    /** 엔티티 로딩 기록 (managedEntities : 로딩 직후 영속성 컨텍스트의 관리 엔티티 수) */
+    public void recordEntityLoad(int managedEntities) {
+        this.entitiesLoaded++;
+        recordManagedEntities(managedEntities);
+    }
+
+    /** 컬렉션 초기화 기록 */
+    public void recordCollectionInitialize() {
+        this.collectionsInitialized++;
+    }
+
+    /** flush 기록 (커밋, 명시적 flush) */
+    public void recordFlush(long elapsedNanos) {
+        this.flushCount++;
+        this.flushNanos += elapsedNanos;
+    }
+
+    /** partial flush(JPQL 실행 전 auto flush 검사) 시간 - 실제로 flush했는지는 recordAutoFlush에서 정해진다. */
+    public void recordPartialFlush(long elapsedNanos) {
+        this.pendingPartialFlushNanos = elapsedNanos;
+    }
+
+    /**
+     * auto flush 기록 <br/>
+     * flushed : 변경된 엔티티가 있어서 실제로 flush했는지 여부 (검사만 한 경우는 flush로 세지 않는다)
+     */
+    public void recordAutoFlush(boolean flushed, int managedEntities) {
+        if (flushed) {
+            this.flushCount++;
+            this.flushNanos += pendingPartialFlushNanos;
+        }
+        this.pendingPartialFlushNanos = 0;
+        recordManagedEntities(managedEntities);
+    }
+
+    /** 영속성 컨텍스트의 관리 엔티티 수 기록 (최대값) */
+    public void recordManagedEntities(int managedEntities) {
+        this.peakManagedEntities = Math.max(peakManagedEntities, managedEntities);
+    }
+
+    private void increment(Map<String, Integer> counter, String key) {
+        if (counter.containsKey(key) || counter.size() < MAX_TRACKED) {
+            counter.merge(key, 1, Integer::sum);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public int getCollectionsInitialized() {
+        return collectionsInitialized;
+    }
+
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(flushNanos);
+    }
+
+    public int getPeakManagedEntities() {
+        return peakManagedEntities;
+    }
+
+    /** 디버그 응답 헤더용 요약 */
+    public String summary() {
+        return String.format("statements=%d;jdbcMs=%d;entities=%d;collections=%d;flushes=%d;flushMs=%d;peakManaged=%d",
+                statementCount, getElapsedMillis(), entitiesLoaded, collectionsInitialized,
+                flushCount, getFlushMillis(), peakManagedEntities);
+    }
+
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    /** 값이 바인딩된 SQL별 실행 횟수 (실행 순서) */
+    public Map<String, Integer> getExecutions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    /** 같은 모양으로 threshold번 이상 반복된 select (N+1 의심) */
+    public Map<String, Integer> getRepeatedSelects(int threshold) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold && SqlFingerprint.isSelect(shape)) {
+                result.put(shape, count);
+            }
+        });
+        return result;
+    }
+
+    /** 값까지 동일하게 threshold번 이상 실행된 select (중복 실행, 시퀀스 호출 등은 제외) */
+    public Map<String, Integer> getDuplicateExecutions(int threshold) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold && SqlFingerprint.isSelect(SqlFingerprint.of(sql))) {
+                result.put(sql, count);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 설정된 임계치 위반 목록
+     * @param properties 임계치 설정
+     * @return 위반 내용 메시지 (없으면 빈 리스트)
+     */
+    public List<String> violations(SqlMonitorProperties properties) {
+        List<String> violations = new ArrayList<>();
+        if (statementCount > properties.getMaxStatements()) {
+            violations.add(String.format("[%s] SQL %d건 실행 (최대 %d건)", name, statementCount, properties.getMaxStatements()));
+        }
+        getRepeatedSelects(properties.getRepeatedSelectThreshold()).forEach((shape, count) ->
+                violations.add(String.format("[%s] N+1 의심 : 같은 모양의 select %d회 반복 -> %s", name, count, shape)));
+        getDuplicateExecutions(properties.getDuplicateExecutionThreshold()).forEach((sql, count) ->
+                violations.add(String.format("[%s] 중복 실행 : 동일 SQL %d회 실행 -> %s", name, count, sql)));
+        return violations;
+    }
+}
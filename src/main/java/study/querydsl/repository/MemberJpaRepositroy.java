@@ -1,14 +1,20 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.AbstractJPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import study.querydsl.deadline.RequestDeadline;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
 import java.util.List;
@@ -16,11 +22,14 @@ import java.util.Optional;
 
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.MemberPredicates.teamNameEq;
 
 /**
  * [순수 JPA 리포지토리] <br/>
+ * 조회는 읽기 전용 트랜잭션으로 실행한다. (읽기/쓰기 분리시 replica로 라우팅, ReplicationRoutingDataSource)
  */
 @Repository
+@Transactional(readOnly = true)
 public class MemberJpaRepositroy {
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
@@ -31,9 +40,22 @@ public class MemberJpaRepositroy {
         this.queryFactory = queryFactory;
     }
     /** 회원 저장 (EntityManager) */
+    @Transactional
     public void save(Member member) {
         em.persist(member);
     }
+    /**
+     * 팀 식별자로 회원 저장 (EntityManager) <br/>
+     * 팀은 프록시(getReference)로만 참조하고 FK만 설정한다. -> 팀/회원컬렉션 조회 없이 insert만 발생 <br/>
+     * 대량 생성시 팀의 회원 수와 무관하게 회원 1건당 비용이 일정하다.
+     */
+    @Transactional
+    public Member saveWithTeamId(String username, int age, Long teamId) {
+        Team teamReference = em.getReference(Team.class, teamId);
+        Member member = Member.createWithTeamReference(username, age, teamReference);
+        em.persist(member);
+        return member;
+    }
     /** 회원 단건 조회 (EntityManager) */
     public Optional<Member> findById(Long id) {
         Member findMember = em.find(Member.class, id);
@@ -52,14 +74,14 @@ public class MemberJpaRepositroy {
     }
     /** 회원 전체 조회 (querydsl) */
     public List<Member> findAll_Querydsl() {
-        return queryFactory
-                .selectFrom(member)
+        return withDeadline(queryFactory
+                .selectFrom(member))
                 .fetch();
     }
     /** 회원이름으로 조건 조회 (querydsl) */
     public List<Member> findByUsername_Querydsl(String username) {
-        return queryFactory.selectFrom(member)
-                .where(member.username.eq(username))
+        return withDeadline(queryFactory.selectFrom(member)
+                .where(member.username.eq(username)))
                 .fetch();
     }
 
@@ -70,7 +92,7 @@ public class MemberJpaRepositroy {
             builder.and(member.username.eq(condition.getUsername()));
         }
         if (StringUtils.hasText(condition.getTeamName())) {
-            builder.and(team.name.eq(condition.getTeamName()));
+            builder.and(teamNameEq(condition.getTeamName()));
         }
         if (condition.getAgeGoe() != null) {
             builder.and(member.age.goe(condition.getAgeGoe()));
@@ -78,7 +100,7 @@ public class MemberJpaRepositroy {
         if (condition.getAgeLoe() != null) {
             builder.and(member.age.loe(condition.getAgeLoe()));
         }
-        return queryFactory
+        return withDeadline(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -88,13 +110,13 @@ public class MemberJpaRepositroy {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(builder)
+                .where(builder))
                 .fetch();
     }
 
     /** 동적 쿼리 - Builder 사용 */
     public List<MemberTeamDto> searchByWhereCondition(MemberSearchCondition condition) {
-        return queryFactory
+        return withDeadline(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -109,10 +131,54 @@ public class MemberJpaRepositroy {
 //                        ageGoe(condition.getAgeGoe()),
 //                        ageLoe(condition.getAgeLoe())
                         ageBetween(condition.getAgeGoe(),condition.getAgeLoe())
+                ))
+                .fetch();
+    }
+
+    /**
+     * 동적 쿼리 - 회원 식별자 범위 분할 조회 (MemberParallelSearchService) <br/>
+     * searchByWhereCondition과 같은 조건에 식별자 범위(fromIdExclusive < member.id <= toIdInclusive)를 더한다.
+     * @param orders 정렬 (없으면 정렬하지 않음)
+     */
+    public List<MemberTeamDto> searchByWhereConditionInRange(MemberSearchCondition condition,
+                                                             long fromIdExclusive, long toIdInclusive,
+                                                             OrderSpecifier<?>... orders) {
+        return withDeadline(queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.gt(fromIdExclusive),
+                        member.id.loe(toIdInclusive),
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageBetween(condition.getAgeGoe(),condition.getAgeLoe())
                 )
+                .orderBy(orders))
                 .fetch();
     }
 
+    /** 회원 식별자 최소, 최대 (PK 인덱스만 사용, 회원이 없으면 둘 다 null) */
+    public Tuple findMemberIdRange() {
+        return withDeadline(queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member))
+                .fetchOne();
+    }
+
+    /**
+     * 요청 기한(RequestDeadline)의 남은 시간을 쿼리 타임아웃으로 적용
+     */
+    private <Q extends AbstractJPAQuery<?, ?>> Q withDeadline(Q query) {
+        RequestDeadline.apply(query);
+        return query;
+    }
+
     /**
      * ageGoe와 ageLoe 조합
      * @param ageLoe
@@ -132,10 +198,6 @@ public class MemberJpaRepositroy {
         return StringUtils.hasText(username) ? member.username.eq(username): null;
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName): null;
-    }
-
     private BooleanExpression ageGoe(Integer ageGoe) {
         return ageGoe != null ? member.age.goe(ageGoe) : null;
     }
@@ -0,0 +1,167 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.support.FetchPlan;
+import study.querydsl.repository.support.Querydsl4RepositorySupport;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.MemberPredicates.teamNameEq;
+
+/**
+ * Querydsl4RepositorySupport 기반 회원 엔티티 조회 <br/>
+ * 조회 형태는 FetchPlan으로 선언한다. <br/>
+ * 조회는 읽기 전용 트랜잭션으로 실행한다. (읽기/쓰기 분리시 replica로 라우팅)
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberQueryRepository extends Querydsl4RepositorySupport {
+    public MemberQueryRepository() {
+        super(Member.class);
+    }
+
+    /**
+     * 회원 + 팀 페이징 조회 (FetchPlan.MEMBER_WITH_TEAM) <br/>
+     * 팀을 엔티티 그래프로 함께 조회하므로 회원마다 팀 조회 쿼리가 발생하지 않는다.
+     * @param condition
+     * @param pageable
+     * @return
+     */
+    public Page<Member> searchPageWithTeam(MemberSearchCondition condition, Pageable pageable) {
+        return applyPagination(pageable, member, FetchPlan.MEMBER_WITH_TEAM, query -> query
+                .where(usernameEq(condition.getUsername())
+                        , teamNameEq(condition.getTeamName())
+                        , ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
+                )
+        );
+    }
+
+    /**
+     * [페이징 - applyPagination] Querydsl4RepositorySupport.applyPagination(pageable, contentQuery) <br/>
+     * content 쿼리를 그대로 count 쿼리로도 사용한다.
+     * @param condition
+     * @param pageable
+     * @return
+     */
+    public Page<MemberTeamDto> searchPageByApplyPagination(MemberSearchCondition condition, Pageable pageable) {
+        return applyPagination(pageable, queryFactory -> queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameEq(condition.getUsername())
+                        , teamNameEq(condition.getTeamName())
+                        , ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
+                )
+        );
+    }
+
+    /**
+     * [페이징 - 키셋(no offset)] <br/>
+     * offset 대신 마지막으로 조회한 회원 식별자 다음부터 size건을 조회한다. (member.id 오름차순) <br/>
+     * 페이지가 깊어져도 앞의 행을 읽고 버리지 않으므로 조회 비용이 일정하다. (count 쿼리 없음)
+     * @param condition
+     * @param lastMemberId 이전 페이지의 마지막 회원 식별자 (첫 페이지는 null)
+     * @param size
+     * @return
+     */
+    public List<MemberTeamDto> searchByKeyset(MemberSearchCondition condition, Long lastMemberId, int size) {
+        return select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(lastMemberId != null ? member.id.gt(lastMemberId) : null
+                        , usernameEq(condition.getUsername())
+                        , teamNameEq(condition.getTeamName())
+                        , ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
+                )
+                .orderBy(member.id.asc())
+                .limit(size)
+                .fetch();
+    }
+
+    /**
+     * [페이징 - 지연 조인(deferred join)] <br/>
+     * 1) 조건과 offset/limit으로 회원 식별자만 조회 (좁은 행, 팀 컬럼 없이) <br/>
+     * 2) 조회된 식별자만 IN 절로 팀과 조인하여 DTO 조회 <br/>
+     * offset으로 읽고 버리는 행이 식별자뿐이므로 깊은 페이지에서 일반 offset 페이징보다 가볍다.
+     * @param condition
+     * @param pageable
+     * @return
+     */
+    public Page<MemberTeamDto> searchPageByDeferredJoin(MemberSearchCondition condition, Pageable pageable) {
+        List<Long> ids = select(member.id)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameEq(condition.getUsername())
+                        , teamNameEq(condition.getTeamName())
+                        , ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
+                )
+                .orderBy(member.id.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+        List<MemberTeamDto> content = ids.isEmpty() ? List.of() : select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .orderBy(member.id.asc())
+                .fetch();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(condition));
+    }
+
+    /** 검색 조건 count (페이징 count 쿼리와 동일) */
+    public long count(MemberSearchCondition condition) {
+        Long count = select(member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(usernameEq(condition.getUsername())
+                        , teamNameEq(condition.getTeamName())
+                        , ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
+                )
+                .fetchOne();
+        return count != null ? count : 0L;
+    }
+
+    private QMemberTeamDto memberTeamDto() {
+        return new QMemberTeamDto(
+                member.id.as("memberId"),
+                member.username,
+                member.age,
+                team.id.as("teamId"),
+                team.name.as("teamName")
+        );
+    }
+
+    private BooleanExpression ageBetween(Integer ageGoe, Integer ageLoe) {
+        if (ageGoe == null) {
+            return ageLoe(ageLoe);
+        }
+        if (ageLoe == null) {
+            return ageGoe(ageGoe);
+        }
+        return ageGoe(ageGoe).and(ageLoe(ageLoe));
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return StringUtils.hasText(username) ? member.username.eq(username): null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
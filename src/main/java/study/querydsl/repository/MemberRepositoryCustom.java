@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
 
 import java.util.List;
 
@@ -14,4 +15,6 @@ public interface MemberRepositoryCustom {
     Page<MemberTeamDto> searchPageSimple2(MemberSearchCondition condition, Pageable pageable);
 
     Page<MemberTeamDto> searchComplex(MemberSearchCondition condition, Pageable pageable);
+
+    void initializeTeams(List<Member> members);
 }
@@ -3,37 +3,77 @@ package study.querydsl.repository;
 import com.querydsl.core.QueryResults;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.AbstractJPAQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import study.querydsl.deadline.RequestDeadline;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.limit.ConcurrencyLimiters;
+import study.querydsl.limit.QueryClass;
+import study.querydsl.repository.support.BatchFetchUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.MemberPredicates.teamNameEq;
 
+/**
+ * MemberRepositoryCustom 구현 <br/>
+ * 모두 조회이므로 읽기 전용 트랜잭션으로 실행한다. (읽기/쓰기 분리시 replica로 라우팅, ReplicationRoutingDataSource)
+ */
+@Transactional(readOnly = true)
 public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implements MemberRepositoryCustom {
 
     /**
      * 의존성 주입
      * QuerydslRepositorySupport에 대한 주입 추가 (super)
      * -> EntityManager와 querydsl 유틸리티를 함께 사용할 수 있다.
+     * EntityManager는 생성자 호출 이후 setEntityManager()로 주입되므로 JPAQueryFactory도 이 시점에 생성한다.
      */
-    private final JPAQueryFactory queryFactory;
+    private JPAQueryFactory queryFactory;
+
+    /** 연관관계 배치 조회시 IN 절 하나에 담을 식별자 개수 (전역 설정 default_batch_fetch_size와 동일) */
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size:100}")
+    private int batchSize;
+
+    /** 쿼리 종류별 동시 실행 제한 (없으면 제한하지 않는다) */
+    private ConcurrencyLimiters concurrencyLimiters;
+
     public MemberRepositoryCustomImpl() {
         super(Member.class); // QuerydslRepositorySupport에 대한 주입 추가
-        this.queryFactory = new JPAQueryFactory(getEntityManager());
+    }
+
+    @Override
+    @Autowired
+    public void setEntityManager(EntityManager entityManager) {
+        super.setEntityManager(entityManager);
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Autowired(required = false)
+    public void setConcurrencyLimiters(ConcurrencyLimiters concurrencyLimiters) {
+        this.concurrencyLimiters = concurrencyLimiters;
     }
 
     /** 동적 쿼리 - Builder 사용 */
@@ -42,7 +82,7 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
         /**
          * QuerydslRepositorySupport 사용 예시 코드
          */
-        List<MemberTeamDto> result = from(member)
+        List<MemberTeamDto> result = withDeadline(fromMember())
                 .leftJoin(member.team, team)
                 .where(usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
@@ -58,7 +98,7 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
                 .fetch();
         EntityManager em = getEntityManager();
 
-        return queryFactory
+        return withDeadline(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -71,7 +111,7 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
                 .where(usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageBetween(condition.getAgeGoe(),condition.getAgeLoe())
-                )
+                ))
                 .fetch();
     }
 
@@ -86,7 +126,7 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
      */
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDto> pageResult = queryFactory
+        QueryResults<MemberTeamDto> pageResult = limit(QueryClass.CONTENT, () -> withDeadline(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -101,8 +141,8 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
                         ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
                 )
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetchResults();//Conten용쿼리 Count용쿼리 각각 2번 출력
+                .limit(pageable.getPageSize())) // content, count 쿼리 모두 남은 시간 전부
+                .fetchResults());//Conten용쿼리 Count용쿼리 각각 2번 출력
         List<MemberTeamDto> content = pageResult.getResults();
         long total = pageResult.getTotal();
         return new PageImpl<>(content, pageable, total); //content, pageable, total 정보 page구현체 객체에 담아 모두반환
@@ -124,7 +164,7 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
     @Override
     public Page<MemberTeamDto> searchPageSimple2(MemberSearchCondition condition, Pageable pageable) {
 
-        JPQLQuery<MemberTeamDto> jpaQuery = from(member)
+        JPQLQuery<MemberTeamDto> jpaQuery = withDeadline(fromMember()) // content, count 쿼리 모두 남은 시간 전부
                 .leftJoin(member.team, team)
                 .where(usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
@@ -159,7 +199,7 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
      */
     @Override
     public Page<MemberTeamDto> searchComplex(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+        List<MemberTeamDto> content = limit(QueryClass.CONTENT, () -> withDeadline(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -174,8 +214,8 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
                         ageBetween(condition.getAgeGoe(), condition.getAgeLoe())
                 )
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();//Conten용쿼리
+                .limit(pageable.getPageSize()), QueryClass.CONTENT)
+                .fetch());//Conten용쿼리
 
         JPAQuery<Member> countQuery = queryFactory
                 .select(member)
@@ -201,12 +241,65 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
         return PageableExecutionUtils.getPage(content, pageable, new LongSupplier(){
             @Override
             public long getAsLong() {
-                return countQuery.fetchCount();
+                return limit(QueryClass.COUNT, withDeadline(countQuery, QueryClass.COUNT)::fetchCount);
             }
         });
 //        return new PageImpl<>(content, pageable, total); //content, pageable, total 정보 page구현체 객체에 담아 모두반환
     }
 
+    /**
+     * [연관관계 배치 조회] 회원 목록의 팀을 IN 쿼리로 한번에 초기화 <br/>
+     * 회원마다 getTeam().getName()을 호출하면 프록시마다 select가 발생한다.(N+1) <br/>
+     * 초기화되지 않은 팀 프록시의 식별자만 모아서 batchSize 단위로 조회한다. -> ceil(N/batchSize)회 <br/>
+     * 조회된 팀이 영속성 컨텍스트에 올라가므로 이후 프록시 초기화는 쿼리 없이 이루어진다.
+     * @param members 팀을 초기화할 회원 목록
+     */
+    @Override
+    public void initializeTeams(List<Member> members) {
+        PersistenceUnitUtil util = getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Team> proxies = members.stream()
+                .map(Member::getTeam)
+                .filter(Objects::nonNull)
+                .filter(proxy -> !util.isLoaded(proxy))
+                .collect(Collectors.toList());
+        List<Long> teamIds = proxies.stream()
+                .map(proxy -> (Long) util.getIdentifier(proxy)) // 식별자 조회는 프록시를 초기화하지 않는다.
+                .distinct()
+                .collect(Collectors.toList());
+        for (List<Long> chunk : BatchFetchUtils.partition(teamIds, batchSize)) {
+            from(team)
+                    .where(team.id.in(chunk))
+                    .fetch();
+        }
+        proxies.forEach(Hibernate::initialize); // 영속성 컨텍스트에서 찾으므로 추가 쿼리 없음
+    }
+
+    /**
+     * 쿼리 종류(content, count)별 동시 실행 한도 안에서 실행
+     * @throws study.querydsl.limit.ConcurrencyLimitExceededException 한도 초과
+     */
+    private <R> R limit(QueryClass queryClass, Supplier<R> query) {
+        return concurrencyLimiters != null ? concurrencyLimiters.call(queryClass, query) : query.get();
+    }
+
+    /**
+     * 요청 기한(RequestDeadline)의 남은 시간을 쿼리 타임아웃으로 적용 (content는 contentShare 비율, count는 남은 시간 전부)
+     */
+    private <Q extends AbstractJPAQuery<?, ?>> Q withDeadline(Q query, QueryClass queryClass) {
+        RequestDeadline.apply(query, queryClass);
+        return query;
+    }
+
+    private <Q extends AbstractJPAQuery<?, ?>> Q withDeadline(Q query) {
+        RequestDeadline.apply(query);
+        return query;
+    }
+
+    /** QuerydslRepositorySupport.from(member) - 요청 기한 힌트를 적용할 수 있도록 JPAQuery로 받는다. (from()은 JPAQuery를 생성한다) */
+    private JPAQuery<Member> fromMember() {
+        return (JPAQuery<Member>) from(member);
+    }
+
     /**
      * ageGoe와 ageLoe 조합
      * @param ageLoe
@@ -226,10 +319,6 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
         return StringUtils.hasText(username) ? member.username.eq(username): null;
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName): null;
-    }
-
     private BooleanExpression ageGoe(Integer ageGoe) {
         return ageGoe != null ? member.age.goe(ageGoe) : null;
     }
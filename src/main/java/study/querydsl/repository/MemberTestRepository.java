@@ -14,6 +14,7 @@ import java.util.List;
 
 import static study.querydsl.entity.QMember.*;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.support.MemberPredicates.teamNameEq;
 
 public class MemberTestRepository extends Querydsl4RepositorySupport {
     public MemberTestRepository() {
@@ -116,10 +117,6 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         return StringUtils.hasText(username) ? member.username.eq(username): null;
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName): null;
-    }
-
     private BooleanExpression ageGoe(Integer ageGoe) {
         return ageGoe != null ? member.age.goe(ageGoe) : null;
     }
@@ -0,0 +1,43 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.FetchPlan;
+import study.querydsl.repository.support.Querydsl4RepositorySupport;
+
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * Querydsl4RepositorySupport 기반 팀 엔티티 조회 <br/>
+ * 조회 형태는 FetchPlan으로 선언한다.
+ */
+@Repository
+public class TeamQueryRepository extends Querydsl4RepositorySupport {
+    public TeamQueryRepository() {
+        super(Team.class);
+    }
+
+    /**
+     * 팀 + 회원 컬렉션 페이징 조회 (FetchPlan.TEAM_WITH_MEMBERS) <br/>
+     * 컬렉션 조회이므로 팀만 먼저 페이징한 뒤 IN 절로 회원 컬렉션을 함께 조회한다. (메모리 페이징 X) <br/>
+     * 두 쿼리가 같은 영속성 컨텍스트를 사용해야 하므로 트랜잭션 안에서 실행한다.
+     * @param teamName
+     * @param pageable
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public Page<Team> searchPageWithMembers(String teamName, Pageable pageable) {
+        return applyPagination(pageable, team, FetchPlan.TEAM_WITH_MEMBERS, query -> query
+                .where(teamNameEq(teamName))
+        );
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return StringUtils.hasText(teamName) ? team.name.eq(teamName): null;
+    }
+}
@@ -0,0 +1,11 @@
+package study.querydsl.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import study.querydsl.entity.Team;
+
+/**
+ * SpringDataJpaRepository <br/>
+ * 팀 조회용 repository (QueryDsl 구현은 TeamRepositoryCustomImpl)
+ */
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+}
@@ -0,0 +1,12 @@
+package study.querydsl.repository;
+
+import study.querydsl.dto.TeamSummaryDto;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+public interface TeamRepositoryCustom {
+    void initializeMembers(List<Team> teams);
+
+    List<TeamSummaryDto> summarize();
+}
@@ -0,0 +1,77 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import study.querydsl.dto.QTeamSummaryDto;
+import study.querydsl.dto.TeamSummaryDto;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.BatchFetchUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+public class TeamRepositoryCustomImpl implements TeamRepositoryCustom {
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+
+    /** 연관관계 배치 조회시 IN 절 하나에 담을 식별자 개수 (전역 설정 default_batch_fetch_size와 동일) */
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size:100}")
+    private int batchSize;
+
+    public TeamRepositoryCustomImpl(EntityManager em, JPAQueryFactory queryFactory) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+    }
+
+    /**
+     * [연관관계 배치 조회] 팀 목록의 회원 컬렉션을 IN 쿼리로 한번에 초기화 <br/>
+     * 팀마다 getMembers()를 호출하면 컬렉션마다 select가 발생한다.(N+1) <br/>
+     * 초기화되지 않은 팀만 모아서 batchSize 단위로 컬렉션 페치조인 -> ceil(N/batchSize)회 <br/>
+     * 이미 영속성 컨텍스트에 있는 팀도 페치조인 결과로 members 컬렉션이 채워진다.
+     * @param teams 회원 컬렉션을 초기화할 팀 목록
+     */
+    @Override
+    public void initializeMembers(List<Team> teams) {
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Team> targets = teams.stream()
+                .filter(target -> !util.isLoaded(target, "members"))
+                .distinct()
+                .collect(Collectors.toList());
+        for (List<Team> chunk : BatchFetchUtils.partition(targets, batchSize)) {
+            queryFactory
+                    .selectFrom(team).distinct()
+                    .leftJoin(team.members, member).fetchJoin()
+                    .where(team.in(chunk))
+                    .fetch();
+        }
+    }
+
+    /**
+     * [팀별 회원 집계] count, avg, min, max (group by) <br/>
+     * team.getMembers().size()처럼 컬렉션 전체를 로딩하지 않고 집계 쿼리 1회로 처리한다. <br/>
+     * left join : 회원이 없는 팀도 memberCount 0으로 포함
+     * @return 팀별 집계 결과 (팀 이름순)
+     */
+    @Override
+    public List<TeamSummaryDto> summarize() {
+        return queryFactory
+                .select(new QTeamSummaryDto(
+                        team.id,
+                        team.name,
+                        member.count(),
+                        member.age.avg(),
+                        member.age.min(),
+                        member.age.max()
+                ))
+                .from(team)
+                .leftJoin(team.members, member)
+                .groupBy(team.id, team.name)
+                .orderBy(team.name.asc())
+                .fetch();
+    }
+}
@@ -0,0 +1,25 @@
+package study.querydsl.repository.support;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 연관관계 배치 조회 유틸 <br/>
+ * IN 절에 넣을 식별자 목록을 batch size 단위로 나눈다. (N건 -> ceil(N/size)회 조회)
+ */
+public final class BatchFetchUtils {
+
+    private BatchFetchUtils() {
+    }
+
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        Assert.isTrue(size > 0, "Batch size must be positive!");
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,50 @@
+package study.querydsl.repository.support;
+
+import java.util.Arrays;
+
+/**
+ * 이름이 있는 재사용 가능한 조회 형태(Fetch Plan) <br/>
+ * 엔티티에 선언한 @NamedEntityGraph와 매핑되며, Querydsl4RepositorySupport.selectFrom(from, plan)에서 <br/>
+ * javax.persistence.fetchgraph 힌트로 적용된다. -> 하이버네이트가 페치조인으로 변환 <br/>
+ * 호출하는 쪽에서 .join(member.team, team).fetchJoin() 여부를 매번 결정하지 않고 필요한 형태를 이름으로 선언한다.
+ */
+public enum FetchPlan {
+    /** 회원 + 팀 (ToOne : 페이징해도 안전) */
+    MEMBER_WITH_TEAM("member-with-team", "Member.withTeam", false),
+    /** 팀 + 회원 컬렉션 (ToMany : 페이징시 루트만 먼저 페이징 후 IN 절로 컬렉션 조회) */
+    TEAM_WITH_MEMBERS("team-with-members", "Team.withMembers", true);
+
+    private final String planName;
+    private final String entityGraphName;
+    private final boolean collection;
+
+    FetchPlan(String planName, String entityGraphName, boolean collection) {
+        this.planName = planName;
+        this.entityGraphName = entityGraphName;
+        this.collection = collection;
+    }
+
+    public String getPlanName() {
+        return planName;
+    }
+
+    public String getEntityGraphName() {
+        return entityGraphName;
+    }
+
+    public boolean isCollection() {
+        return collection;
+    }
+
+    /**
+     * 이름으로 Fetch Plan 조회
+     * @param planName ex) member-with-team
+     * @return FetchPlan
+     */
+    public static FetchPlan of(String planName) {
+        return Arrays.stream(values())
+                .filter(plan -> plan.planName.equals(planName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown fetch plan : " + planName));
+    }
+}
@@ -0,0 +1,35 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+import org.springframework.util.StringUtils;
+import study.querydsl.entity.QTeam;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회원 검색 공통 조건 <br/>
+ * 조인 방식(별칭 외부 조인, 내부 조인, 엔티티 그래프)과 관계없이 같은 검색 조건이 같은 실행계획을 쓰도록 모든 회원 검색에서 사용한다.
+ */
+public final class MemberPredicates {
+
+    private MemberPredicates() {
+    }
+
+    /**
+     * 팀명 조건 : member.team_id IN (팀명으로 찾은 팀 식별자) <br/>
+     * leftJoin(member.team, team) 뒤의 team.name = ? 조건은 외부 조인 순서 때문에 회원 테이블을 전부 읽고 팀을 찾지만,
+     * 서브쿼리는 idx_team_name으로 팀을 찾고 idx_member_team_age로 회원을 찾는다. (팀이 없는 회원은 어차피 제외되므로 결과는 같다)
+     * @return 팀명이 없으면 null (조건 생략)
+     */
+    public static BooleanExpression teamNameEq(String teamName) {
+        if (!StringUtils.hasText(teamName)) {
+            return null;
+        }
+        QTeam teamByName = new QTeam("teamByName");
+        return member.team.id.in(JPAExpressions
+                .select(teamByName.id)
+                .from(teamByName)
+                .where(teamByName.name.eq(teamName)));
+    }
+}
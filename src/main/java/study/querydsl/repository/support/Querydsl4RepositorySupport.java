@@ -2,7 +2,9 @@ package study.querydsl.repository.support;
 
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.AbstractJPAQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,11 +18,15 @@ import org.springframework.data.querydsl.SimpleEntityPathResolver;
 import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
+import study.querydsl.deadline.RequestDeadline;
+import study.querydsl.limit.ConcurrencyLimiters;
+import study.querydsl.limit.QueryClass;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Querydsl 4.x 버전에 맞춘 Querydsl 지원 라이브러리
@@ -30,10 +36,12 @@ import java.util.function.Function;
  */
 @Repository
 public abstract class Querydsl4RepositorySupport {
+    private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
     private final Class domainClass;
     private Querydsl querydsl;
     private EntityManager entityManager;
     private JPAQueryFactory queryFactory;
+    private ConcurrencyLimiters concurrencyLimiters;
 
     public Querydsl4RepositorySupport(Class<?> domainClass) {
         Assert.notNull(domainClass, "Domain class must not be null!");
@@ -53,6 +61,14 @@ public abstract class Querydsl4RepositorySupport {
         this.queryFactory = new JPAQueryFactory(entityManager);
     }
 
+    /**
+     * 쿼리 종류별 동시 실행 제한 (없으면 제한하지 않는다)
+     */
+    @Autowired(required = false)
+    public void setConcurrencyLimiters(ConcurrencyLimiters concurrencyLimiters) {
+        this.concurrencyLimiters = concurrencyLimiters;
+    }
+
     @PostConstruct
     public void validate() {
         Assert.notNull(entityManager, "EntityManager must not be null!");
@@ -72,31 +88,92 @@ public abstract class Querydsl4RepositorySupport {
         return entityManager;
     }
 
+    /**
+     * 쿼리 종류(content, count)별 동시 실행 한도 안에서 실행
+     * @throws study.querydsl.limit.ConcurrencyLimitExceededException 한도 초과
+     */
+    protected <R> R limit(QueryClass queryClass, Supplier<R> query) {
+        return concurrencyLimiters != null ? concurrencyLimiters.call(queryClass, query) : query.get();
+    }
+
+    /**
+     * 요청 기한(RequestDeadline)의 남은 시간을 쿼리 타임아웃으로 적용 <br/>
+     * select(), selectFrom()으로 만든 쿼리는 생성 시점에 남은 시간 전부가 적용되고,
+     * applyPagination()은 실행 직전에 content/count 배분 시간으로 다시 적용한다.
+     */
+    protected <Q extends AbstractJPAQuery<?, ?>> Q withDeadline(Q query, QueryClass queryClass) {
+        RequestDeadline.apply(query, queryClass);
+        return query;
+    }
+
+    protected <Q extends AbstractJPAQuery<?, ?>> Q withDeadline(Q query) {
+        RequestDeadline.apply(query);
+        return query;
+    }
+
     protected <T> JPAQuery<T> select(Expression<T> expr) {
-        return getQueryFactory().select(expr);
+        return withDeadline(getQueryFactory().select(expr));
     }
 
     protected <T> JPAQuery<T> selectFrom(EntityPath<T> from) {
-        return getQueryFactory().selectFrom(from);
+        return withDeadline(getQueryFactory().selectFrom(from));
+    }
+
+    /**
+     * Fetch Plan 적용 selectFrom <br/>
+     * 엔티티 그래프를 fetchgraph 힌트로 적용하여 연관관계를 한번의 쿼리로 함께 조회한다.
+     */
+    protected <T> JPAQuery<T> selectFrom(EntityPath<T> from, FetchPlan plan) {
+        return selectFrom(from)
+                .setHint(FETCH_GRAPH_HINT, getEntityManager().getEntityGraph(plan.getEntityGraphName()));
     }
 
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery) {
-        JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable,
-                jpaQuery).fetch();
+        JPAQuery jpaQuery = withDeadline(contentQuery.apply(getQueryFactory()), QueryClass.CONTENT);
+        List<T> content = limit(QueryClass.CONTENT, () -> getQuerydsl().applyPagination(pageable,
+                jpaQuery).fetch());
         return PageableExecutionUtils.getPage(content, pageable,
-                jpaQuery::fetchCount);
+                () -> limit(QueryClass.COUNT, withDeadline(jpaQuery, QueryClass.COUNT)::fetchCount));
     }
 
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
             JPAQuery> countQuery) {
-        JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable,
-                jpaContentQuery).fetch();
+        JPAQuery jpaContentQuery = withDeadline(contentQuery.apply(getQueryFactory()), QueryClass.CONTENT);
+        List<T> content = limit(QueryClass.CONTENT, () -> getQuerydsl().applyPagination(pageable,
+                jpaContentQuery).fetch());
         JPAQuery countResult = countQuery.apply(getQueryFactory());
         return PageableExecutionUtils.getPage(content, pageable,
-                countResult::fetchCount);
+                () -> limit(QueryClass.COUNT, withDeadline(countResult, QueryClass.COUNT)::fetchCount));
+    }
+
+    /**
+     * Fetch Plan 적용 페이징 <br/>
+     * ToOne : content 쿼리에 엔티티 그래프 적용 (1회 조회) <br/>
+     * ToMany : 컬렉션 페치조인 + 페이징은 메모리에서 페이징되므로(HHH000104) <br/>
+     * -> 루트 엔티티만 먼저 페이징한 뒤, 조회된 루트를 IN 절로 엔티티 그래프 적용하여 다시 조회한다. <br/>
+     * count 쿼리에는 엔티티 그래프를 적용하지 않는다.
+     * @param pageable 페이징 정보
+     * @param from 루트 엔티티
+     * @param plan 조회 형태
+     * @param condition 조건 (where 등)
+     */
+    protected <T> Page<T> applyPagination(Pageable pageable, EntityPath<T> from, FetchPlan plan,
+                                          Function<JPAQuery<T>, JPAQuery<T>> condition) {
+        JPAQuery<T> countQuery = condition.apply(selectFrom(from));
+        if (!plan.isCollection()) {
+            JPAQuery<T> contentQuery = withDeadline(condition.apply(selectFrom(from, plan)), QueryClass.CONTENT);
+            List<T> content = limit(QueryClass.CONTENT, () -> getQuerydsl().applyPagination(pageable, contentQuery).fetch());
+            return PageableExecutionUtils.getPage(content, pageable, () -> limit(QueryClass.COUNT, withDeadline(countQuery, QueryClass.COUNT)::fetchCount));
+        }
+        List<T> content = limit(QueryClass.CONTENT, () -> getQuerydsl().applyPagination(pageable,
+                withDeadline(condition.apply(selectFrom(from)), QueryClass.CONTENT)).fetch());
+        if (!content.isEmpty()) {
+            selectFrom(from, plan).distinct()
+                    .where(ExpressionUtils.in(from, content))
+                    .fetch(); // 같은 영속성 컨텍스트의 content 엔티티에 컬렉션이 채워진다.
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> limit(QueryClass.COUNT, withDeadline(countQuery, QueryClass.COUNT)::fetchCount));
     }
 }
@@ -0,0 +1,231 @@
+package study.querydsl.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.deadline.RequestDeadline;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepositroy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 검색 병렬 분할 조회 (/v1/members?parallel=true) <br/>
+ * 1) 회원 식별자 최소/최대(PK 인덱스)로 구간을 나눈다. (parallelism * partitionsPerThread 개, 구간이 작으면 나누지 않음) <br/>
+ * 2) 구간마다 searchByWhereCondition과 같은 조건으로 조회한다. 구간별로 읽기 전용 트랜잭션(별도 커넥션)을 사용하고,
+ *    전체 요청이 공유하는 ForkJoinPool(parallelism)에서 실행하므로 동시에 사용하는 커넥션 수가 제한된다. <br/>
+ * 3) 정렬이 없으면 구간별로 회원 식별자 순서로 조회해서 구간 순서대로 이어붙이고(결과는 회원 식별자 오름차순),
+ *    정렬이 있으면 구간별로 DB에서 정렬한 결과를 k-way 병합한다. <br/>
+ * 요청 기한(RequestDeadline)이 있으면 구간 조회 스레드에도 같은 기한을 적용한다. <br/>
+ * 정렬 가능 속성 : memberId, username, age, teamName (null은 마지막, 동률은 memberId 오름차순, 그 외 속성은 400) <br/>
+ * 문자열 병합 순서는 Java String 비교이므로 DB 콜레이션이 코드 포인트 순서가 아니면 어긋날 수 있다.
+ */
+@Service
+public class MemberParallelSearchService implements DisposableBean {
+
+    private final MemberJpaRepositroy memberJpaRepositroy;
+    private final ParallelSearchProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool pool;
+
+    public MemberParallelSearchService(MemberJpaRepositroy memberJpaRepositroy, ParallelSearchProperties properties,
+                                       PlatformTransactionManager transactionManager) {
+        this.memberJpaRepositroy = memberJpaRepositroy;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pool = new ForkJoinPool(properties.getParallelism());
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition, Sort sort) {
+        List<SortProperty.Direction> directions = SortProperty.of(sort);
+        OrderSpecifier<?>[] orders = directions.isEmpty()
+                ? new OrderSpecifier<?>[]{member.id.asc()} // 구간을 이어붙인 결과가 식별자 순서가 되도록
+                : directions.stream().map(SortProperty.Direction::orderSpecifier).toArray(OrderSpecifier[]::new);
+
+        Tuple range = memberJpaRepositroy.findMemberIdRange();
+        Long minId = range != null ? range.get(0, Long.class) : null;
+        Long maxId = range != null ? range.get(1, Long.class) : null;
+        if (minId == null || maxId == null) {
+            return List.of();
+        }
+        List<long[]> partitions = partition(minId - 1, maxId, properties.getParallelism() * properties.getPartitionsPerThread(),
+                properties.getMinPartitionSize());
+        if (partitions.size() == 1) {
+            return searchPartition(condition, partitions.get(0), orders);
+        }
+
+        boolean deadline = RequestDeadline.isActive();
+        long deadlineNanos = RequestDeadline.deadlineNanos(); // 풀에서 대기한 시간도 기한에 포함
+        double contentShare = RequestDeadline.contentShare();
+        List<CompletableFuture<List<MemberTeamDto>>> futures = partitions.stream()
+                .map(partition -> CompletableFuture.supplyAsync(() -> deadline
+                        ? RequestDeadline.callUntil(deadlineNanos, contentShare, () -> searchPartition(condition, partition, orders))
+                        : searchPartition(condition, partition, orders), pool))
+                .collect(Collectors.toList());
+        List<List<MemberTeamDto>> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<List<MemberTeamDto>> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        if (directions.isEmpty()) {
+            return results.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+        return mergeSorted(results, directions.stream()
+                .map(SortProperty.Direction::comparator)
+                .reduce((first, second) -> first.thenComparing(second))
+                .orElseThrow());
+    }
+
+    private List<MemberTeamDto> searchPartition(MemberSearchCondition condition, long[] partition, OrderSpecifier<?>[] orders) {
+        return readOnlyTransaction.execute(status ->
+                memberJpaRepositroy.searchByWhereConditionInRange(condition, partition[0], partition[1], orders));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * (fromExclusive, toInclusive] 구간을 최대 count개로 나눈다. (구간 1개는 minSize 이상)
+     * @return {fromExclusive, toInclusive} 목록 (식별자 오름차순)
+     */
+    static List<long[]> partition(long fromExclusive, long toInclusive, int count, long minSize) {
+        long span = toInclusive - fromExclusive;
+        int partitions = (int) Math.max(1, Math.min(count, span / Math.max(1, minSize)));
+        List<long[]> result = new ArrayList<>(partitions);
+        long start = fromExclusive;
+        for (int i = 1; i <= partitions; i++) {
+            long end = i == partitions ? toInclusive : fromExclusive + span * i / partitions;
+            result.add(new long[]{start, end});
+            start = end;
+        }
+        return result;
+    }
+
+    /** 각각 정렬된 목록들을 하나의 정렬된 목록으로 병합 (k-way merge) */
+    static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<? super T> comparator) {
+        PriorityQueue<Cursor<T>> queue = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                (left, right) -> comparator.compare(left.current(), right.current()));
+        int size = 0;
+        for (List<T> list : sortedLists) {
+            size += list.size();
+            if (!list.isEmpty()) {
+                queue.add(new Cursor<>(list));
+            }
+        }
+        List<T> result = new ArrayList<>(size);
+        while (!queue.isEmpty()) {
+            Cursor<T> cursor = queue.poll();
+            result.add(cursor.current());
+            if (cursor.next()) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static class Cursor<T> {
+        private final List<T> list;
+        private int index;
+
+        Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        T current() {
+            return list.get(index);
+        }
+
+        boolean next() {
+            return ++index < list.size();
+        }
+    }
+
+    /** 정렬 가능 속성 (SQL 정렬과 병합 비교를 같은 기준으로 맞춘다) */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    enum SortProperty {
+        MEMBER_ID("memberId", member.id, MemberTeamDto::getMemberId),
+        USERNAME("username", member.username, MemberTeamDto::getUsername),
+        AGE("age", member.age, MemberTeamDto::getAge),
+        TEAM_NAME("teamName", team.name, MemberTeamDto::getTeamName);
+
+        private final String property;
+        private final ComparableExpressionBase<?> path;
+        private final Function<MemberTeamDto, Comparable> extractor;
+
+        SortProperty(String property, ComparableExpressionBase<?> path, Function<MemberTeamDto, Comparable> extractor) {
+            this.property = property;
+            this.path = path;
+            this.extractor = extractor;
+        }
+
+        /** 요청 정렬 + 동률시 memberId 오름차순 (정렬이 없으면 빈 목록) */
+        static List<Direction> of(Sort sort) {
+            List<Direction> directions = new ArrayList<>();
+            if (sort == null || sort.isUnsorted()) {
+                return directions;
+            }
+            boolean byMemberId = false;
+            for (Sort.Order order : sort) {
+                SortProperty sortProperty = find(order.getProperty());
+                byMemberId |= sortProperty == MEMBER_ID;
+                directions.add(new Direction(sortProperty, order.isAscending()));
+            }
+            if (!byMemberId) {
+                directions.add(new Direction(MEMBER_ID, true));
+            }
+            return directions;
+        }
+
+        private static SortProperty find(String property) {
+            for (SortProperty sortProperty : values()) {
+                if (sortProperty.property.equals(property)) {
+                    return sortProperty;
+                }
+            }
+            throw new UnsupportedSortPropertyException(property);
+        }
+
+        static class Direction {
+            private final SortProperty sortProperty;
+            private final boolean ascending;
+
+            Direction(SortProperty sortProperty, boolean ascending) {
+                this.sortProperty = sortProperty;
+                this.ascending = ascending;
+            }
+
+            OrderSpecifier<?> orderSpecifier() {
+                return (ascending ? sortProperty.path.asc() : sortProperty.path.desc()).nullsLast();
+            }
+
+            Comparator<MemberTeamDto> comparator() {
+                Comparator<Comparable> order = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+                return Comparator.comparing(sortProperty.extractor, Comparator.nullsLast(order));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package study.querydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import study.querydsl.deadline.DeadlineProperties;
+import study.querydsl.deadline.RequestDeadline;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.limit.ConcurrencyLimiters;
+import study.querydsl.limit.QueryClass;
+import study.querydsl.repository.MemberQueryRepository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 회원 검색 스트리밍 조회 (Flux) <br/>
+ * JPA/JDBC는 블로킹이므로 논블로킹 드라이버 대신 제한된 스레드 풀(Schedulers.boundedElastic)에서 키셋 페이징 쿼리를 실행하는 브리지를 사용한다. <br/>
+ * - 검색 조건은 MemberQueryRepository.searchByKeyset (MemberSearchCondition 조건 메소드 그대로) <br/>
+ * - 구독자가 요청(request)할 때만 다음 chunkSize건을 조회하고 미리 받아두는 묶음은 1개뿐이므로,
+ *   느린 소비자는 메모리에 쌓이지 않고 DB 조회 속도를 늦춘다. (back-pressure) <br/>
+ * - 묶음마다 별도 쿼리(공유 EntityManager)이므로 영속성 컨텍스트가 커지지 않는다. <br/>
+ * - 묶음 조회는 EXPORT 동시 실행 한도 안에서 실행하며, 한도 초과시 스트림이 ConcurrencyLimitExceededException으로 끝난다. <br/>
+ * - 묶음 조회마다 chunkTimeoutMillis 기한(쿼리 타임아웃)을 적용하고, 클라이언트 연결이 끊기면 구독이 취소되어 다음 묶음을 조회하지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberSearchStreamService {
+    public static final int MAX_CHUNK_SIZE = 1_000;
+
+    private final MemberQueryRepository memberQueryRepository;
+    private final ConcurrencyLimiters concurrencyLimiters;
+    private final DeadlineProperties deadlineProperties;
+
+    public Flux<MemberTeamDto> search(MemberSearchCondition condition, int chunkSize) {
+        return search(condition, chunkSize, Schedulers.boundedElastic());
+    }
+
+    Flux<MemberTeamDto> search(MemberSearchCondition condition, int chunkSize, Scheduler scheduler) {
+        int size = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        return Flux.<List<MemberTeamDto>, Long>generate(() -> 0L, (lastMemberId, sink) -> {
+                    List<MemberTeamDto> chunk = concurrencyLimiters.call(QueryClass.EXPORT, () -> searchChunk(condition, lastMemberId, size));
+                    if (!chunk.isEmpty()) {
+                        sink.next(chunk);
+                    }
+                    if (chunk.size() < size) {
+                        sink.complete();
+                        return lastMemberId;
+                    }
+                    return chunk.get(chunk.size() - 1).getMemberId();
+                })
+                .concatMapIterable(Function.identity(), 1)
+                .subscribeOn(scheduler);
+    }
+
+    private List<MemberTeamDto> searchChunk(MemberSearchCondition condition, Long lastMemberId, int size) {
+        if (!deadlineProperties.isEnabled()) {
+            return memberQueryRepository.searchByKeyset(condition, lastMemberId, size);
+        }
+        return RequestDeadline.call(deadlineProperties.getChunkTimeoutMillis(), 1.0,
+                () -> memberQueryRepository.searchByKeyset(condition, lastMemberId, size));
+    }
+}
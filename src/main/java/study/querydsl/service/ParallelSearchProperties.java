@@ -0,0 +1,22 @@
+package study.querydsl.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 병렬 분할 조회 설정 (MemberParallelSearchService) <br/>
+ * application.yml의 querydsl.parallel-search 하위 속성과 바인딩된다.
+ */
+@Data
+@ConfigurationProperties(prefix = "querydsl.parallel-search")
+public class ParallelSearchProperties {
+    /**
+     * 동시에 실행하는 분할 쿼리 수 (전체 요청 합계) <br/>
+     * 분할 쿼리마다 커넥션을 하나씩 사용하므로 커넥션 풀 크기보다 작게 잡는다.
+     */
+    private int parallelism = 4;
+    /** 스레드 1개당 분할 수 (분할별 조회 건수 편차 완화) */
+    private int partitionsPerThread = 2;
+    /** 분할 1개의 최소 식별자 구간 (이보다 작으면 나누지 않고 한 번에 조회) */
+    private long minPartitionSize = 10_000;
+}
@@ -0,0 +1,88 @@
+package study.querydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import study.querydsl.config.CacheConfig;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 팀 집계 캐시(CacheConfig.TEAM_SUMMARY) 무효화 <br/>
+ * 하이버네이트 커밋 후 이벤트(POST_COMMIT_INSERT/UPDATE/DELETE)로 회원/팀 엔티티가 바뀌면 캐시를 비운다. <br/>
+ * 리포지토리 메소드(save, saveAndFlush, deleteAll ...)와 관계없이 변경 감지(setter)로 인한 update까지 모두 포함한다. <br/>
+ * 엔티티 이벤트가 발생하지 않는 벌크 연산(Querydsl update/delete, deleteAllInBatch)은 TeamSummaryService의 만료 주기로 비워진다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamSummaryCacheEvictor implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final CacheManager cacheManager;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return Member.class.isAssignableFrom(entityClass) || Team.class.isAssignableFrom(entityClass);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict();
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict();
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /** 이미 커밋된 뒤이므로 바로 비운다. (TransactionAwareCacheDecorator.invalidate는 커밋을 기다리지 않는다) */
+    private void evict() {
+        Cache cache = cacheManager.getCache(CacheConfig.TEAM_SUMMARY);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+}
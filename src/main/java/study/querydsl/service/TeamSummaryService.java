@@ -0,0 +1,43 @@
+package study.querydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.config.CacheConfig;
+import study.querydsl.dto.TeamSummaryDto;
+import study.querydsl.repository.TeamRepository;
+
+import java.util.List;
+
+/**
+ * 팀 대시보드용 집계 조회 <br/>
+ * 집계 결과를 캐시(CacheConfig.TEAM_SUMMARY)에 보관한다. <br/>
+ * 회원/팀 엔티티 변경(저장, 삭제, 변경 감지)은 커밋 후 캐시를 비운다. (TeamSummaryCacheEvictor) <br/>
+ * 엔티티 이벤트가 없는 벌크 연산(Querydsl update/delete, deleteAllInBatch)을 위해 만료 주기마다 비운다. (최대 지연 = 만료 주기) <br/>
+ * 캐시된 목록과 DTO는 요청 간에 공유되므로 변경할 수 없게 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TeamSummaryService {
+    private final TeamRepository teamRepository;
+
+    @Cacheable(CacheConfig.TEAM_SUMMARY)
+    public List<TeamSummaryDto> findSummaries() {
+        return List.copyOf(teamRepository.summarize());
+    }
+
+    @CacheEvict(value = CacheConfig.TEAM_SUMMARY, allEntries = true)
+    public void evict() {
+    }
+
+    /** 만료 주기마다 비운다. (querydsl.cache.team-summary-expire-millis, 기본 10분) */
+    @Scheduled(initialDelayString = "${querydsl.cache.team-summary-expire-millis:600000}",
+            fixedDelayString = "${querydsl.cache.team-summary-expire-millis:600000}")
+    @CacheEvict(value = CacheConfig.TEAM_SUMMARY, allEntries = true)
+    public void expire() {
+    }
+}
@@ -0,0 +1,14 @@
+package study.querydsl.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 정렬할 수 없는 속성 (400 Bad Request)
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedSortPropertyException extends IllegalArgumentException {
+    public UnsupportedSortPropertyException(String property) {
+        super("정렬할 수 없는 속성입니다. : " + property);
+    }
+}
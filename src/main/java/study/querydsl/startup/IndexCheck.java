@@ -0,0 +1,105 @@
+package study.querydsl.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 인덱스 존재 여부 확인 <br/>
+ * 엔티티의 @Table(indexes)에 선언한 인덱스가 DB에 있는지 기동 완료(ApplicationReadyEvent)시 JDBC 메타데이터로 확인한다. <br/>
+ * ddl-auto: validate(fast 프로필)는 인덱스를 검증하지 않으므로, 스키마를 직접 관리하는 DB에서 인덱스가 빠지면 여기서 드러난다. <br/>
+ * querydsl.index-check.fail-on-missing: true 이면 누락시 기동을 실패시킨다. (기본값은 WARN 로그)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexCheck {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    @Value("${querydsl.index-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${querydsl.index-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @EventListener
+    public void check(ApplicationReadyEvent event) throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("[index] 선언된 인덱스 확인 완료");
+            return;
+        }
+        if (failOnMissing) {
+            throw new IllegalStateException("누락된 인덱스 : " + missing);
+        }
+        log.warn("[index] 누락된 인덱스 : {}", missing);
+    }
+
+    /**
+     * 선언되었지만 DB에 없는 인덱스
+     * @return 테이블명.인덱스명 목록 (없으면 빈 리스트)
+     */
+    public List<String> findMissingIndexes() throws SQLException {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                Table table = entity.getJavaType().getAnnotation(Table.class);
+                if (table == null || table.indexes().length == 0) {
+                    continue;
+                }
+                EntityPersister persister = sessionFactory.getMetamodel().entityPersister(entity.getJavaType());
+                String tableName = ((AbstractEntityPersister) persister).getTableName();
+                Set<String> existing = indexNames(connection, metaData, tableName);
+                for (Index index : table.indexes()) {
+                    if (!existing.contains(index.name().toUpperCase(Locale.ROOT))) {
+                        missing.add(tableName + "." + index.name());
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
+    private Set<String> indexNames(Connection connection, DatabaseMetaData metaData, String tableName) throws SQLException {
+        String table = metaData.storesUpperCaseIdentifiers() ? tableName.toUpperCase(Locale.ROOT)
+                : metaData.storesLowerCaseIdentifiers() ? tableName.toLowerCase(Locale.ROOT) : tableName;
+        Set<String> names = new HashSet<>();
+        try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, true)) {
+            while (resultSet.next()) {
+                String name = resultSet.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toUpperCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+}
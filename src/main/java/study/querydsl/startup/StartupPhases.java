@@ -0,0 +1,40 @@
+package study.querydsl.startup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 기동 단계별 소요 시간 <br/>
+ * 스프링 빈 단위로 잡히지 않는 구간(하이버네이트 스키마 생성/검증, 초기 데이터 입력)을 기록한다. <br/>
+ * 기록된 값은 StartupReport가 기동 완료시 함께 출력한다.
+ */
+public final class StartupPhases {
+    public static final String SCHEMA = "hibernate.schema";
+    public static final String SEED = "seed";
+
+    private static final Map<String, Long> PHASES = new LinkedHashMap<>();
+
+    private StartupPhases() {
+    }
+
+    public static void time(String name, Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            record(name, System.nanoTime() - start);
+        }
+    }
+
+    /** 같은 이름은 누적한다. (스키마 drop + create 등) */
+    public static synchronized void record(String name, long elapsedNanos) {
+        PHASES.merge(name, elapsedNanos, Long::sum);
+    }
+
+    /** 단계별 소요 시간(ms) */
+    public static synchronized Map<String, Long> millis() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        PHASES.forEach((name, nanos) -> result.put(name, nanos / 1_000_000));
+        return result;
+    }
+}
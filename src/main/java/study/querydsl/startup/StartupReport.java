@@ -0,0 +1,64 @@
+package study.querydsl.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * 기동 단계별 소요 시간 로그 <br/>
+ * 기동 완료(ApplicationReadyEvent)시 전체 시간, 하이버네이트 부트스트랩(entityManagerFactory 빈), 스키마 처리, 초기 데이터 입력,
+ * 생성 시간이 긴 빈 TOP_BEANS개를 INFO 로그로 남긴다. <br/>
+ * 빈 생성 시간은 BufferingApplicationStartup(QuerydslApplication.main)이 기록한 spring.beans.instantiate 단계에서 읽으며,
+ * 의존하는 빈의 생성 시간을 포함한다. (상세 타임라인 : /actuator/startup)
+ */
+@Slf4j
+@Component
+public class StartupReport {
+    private static final int TOP_BEANS = 10;
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+    private static final String HIBERNATE_BOOTSTRAP_BEAN = "entityManagerFactory";
+
+    @EventListener
+    public void report(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        log.info("[startup] ready in {}ms, phases={}", timeTaken != null ? timeTaken.toMillis() : -1, StartupPhases.millis());
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            return; // 테스트 등 main()을 거치지 않은 기동은 빈 단위 시간이 없다.
+        }
+        StartupTimeline timeline = ((BufferingApplicationStartup) startup).getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> beans = timeline.getEvents().stream()
+                .filter(timelineEvent -> BEAN_INSTANTIATE.equals(timelineEvent.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .collect(Collectors.toList());
+        beans.stream()
+                .filter(timelineEvent -> HIBERNATE_BOOTSTRAP_BEAN.equals(beanName(timelineEvent.getStartupStep())))
+                .findFirst()
+                .ifPresent(timelineEvent -> log.info("[startup] hibernate bootstrap ({}) {}ms",
+                        HIBERNATE_BOOTSTRAP_BEAN, timelineEvent.getDuration().toMillis()));
+        log.info("[startup] {} beans, slowest : {}", beans.size(), beans.stream()
+                .limit(TOP_BEANS)
+                .map(timelineEvent -> beanName(timelineEvent.getStartupStep()) + "=" + timelineEvent.getDuration().toMillis() + "ms")
+                .collect(Collectors.joining(", ")));
+    }
+
+    private String beanName(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> "beanName".equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
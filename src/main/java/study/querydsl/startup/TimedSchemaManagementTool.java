@@ -0,0 +1,54 @@
+package study.querydsl.startup;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.tool.schema.internal.HibernateSchemaManagementTool;
+import org.hibernate.tool.schema.spi.DelayedDropAction;
+import org.hibernate.tool.schema.spi.ExecutionOptions;
+import org.hibernate.tool.schema.spi.SchemaCreator;
+import org.hibernate.tool.schema.spi.SchemaDropper;
+import org.hibernate.tool.schema.spi.SchemaValidator;
+import org.hibernate.tool.schema.spi.SourceDescriptor;
+import org.hibernate.tool.schema.spi.TargetDescriptor;
+
+import java.util.Map;
+
+/**
+ * 스키마 생성/삭제/검증 시간 측정 (hibernate.schema_management_tool) <br/>
+ * ddl-auto(create, validate)에 따른 스키마 처리 시간을 StartupPhases.SCHEMA로 기록한다. <br/>
+ * 실제 처리는 하이버네이트 기본 구현(HibernateSchemaManagementTool)에 맡긴다.
+ */
+public class TimedSchemaManagementTool extends HibernateSchemaManagementTool {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public SchemaCreator getSchemaCreator(Map options) {
+        SchemaCreator creator = super.getSchemaCreator(options);
+        return (Metadata metadata, ExecutionOptions executionOptions, SourceDescriptor source, TargetDescriptor target) ->
+                StartupPhases.time(StartupPhases.SCHEMA, () -> creator.doCreation(metadata, executionOptions, source, target));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public SchemaDropper getSchemaDropper(Map options) {
+        SchemaDropper dropper = super.getSchemaDropper(options);
+        return new SchemaDropper() {
+            @Override
+            public void doDrop(Metadata metadata, ExecutionOptions executionOptions, SourceDescriptor source, TargetDescriptor target) {
+                StartupPhases.time(StartupPhases.SCHEMA, () -> dropper.doDrop(metadata, executionOptions, source, target));
+            }
+
+            @Override
+            public DelayedDropAction buildDelayedAction(Metadata metadata, ExecutionOptions executionOptions, SourceDescriptor source) {
+                return dropper.buildDelayedAction(metadata, executionOptions, source);
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public SchemaValidator getSchemaValidator(Map options) {
+        SchemaValidator validator = super.getSchemaValidator(options);
+        return (metadata, executionOptions) ->
+                StartupPhases.time(StartupPhases.SCHEMA, () -> validator.doValidation(metadata, executionOptions));
+    }
+}
@@ -0,0 +1,25 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataSourceConfigTest {
+
+    /**
+     * 읽기/쓰기 분리는 OSIV를 끄지 않으면(기본값 true) 기동을 실패시킨다.
+     */
+    @Test
+    public void routingRequiresOpenInViewDisabled() {
+        assertThatThrownBy(() -> DataSourceConfig.checkOpenInView(new MockEnvironment()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> DataSourceConfig.checkOpenInView(
+                new MockEnvironment().withProperty("spring.jpa.open-in-view", "true")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatCode(() -> DataSourceConfig.checkOpenInView(
+                new MockEnvironment().withProperty("spring.jpa.open-in-view", "false")))
+                .doesNotThrowAnyException();
+    }
+}
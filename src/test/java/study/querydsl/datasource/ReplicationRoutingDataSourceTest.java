@@ -0,0 +1,81 @@
+package study.querydsl.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 2개(primary, replica)로 라우팅 확인 <br/>
+ * 어느 DB에서 실행되었는지는 H2 DATABASE() 함수로 구분한다.
+ */
+class ReplicationRoutingDataSourceTest {
+    static final long STICKY_MILLIS = 60_000;
+
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate writeTransaction;
+    TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void before() {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primary, List.of(replica), STICKY_MILLIS));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void after() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    public void readOnlyTransactionGoesToReplica() {
+        assertThat(readOnlyTransaction.execute(status -> database())).isEqualTo("REPLICA");
+        assertThat(writeTransaction.execute(status -> database())).isEqualTo("PRIMARY");
+        assertThat(database()).isEqualTo("PRIMARY"); // 트랜잭션 밖
+    }
+
+    /**
+     * 쓰기 커밋 후 읽기는 stickyMillis 동안 primary (read-your-writes)
+     */
+    @Test
+    public void readAfterWriteSticksToPrimary() {
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.execute("select 1"));
+        assertThat(readOnlyTransaction.execute(status -> database())).isEqualTo("PRIMARY");
+
+        ReadYourWrites.clear();
+        assertThat(readOnlyTransaction.execute(status -> database())).isEqualTo("REPLICA");
+    }
+
+    /**
+     * 롤백된 쓰기는 고정하지 않는다.
+     */
+    @Test
+    public void rollbackDoesNotStick() {
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("select 1");
+            status.setRollbackOnly();
+        });
+        assertThat(readOnlyTransaction.execute(status -> database())).isEqualTo("REPLICA");
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
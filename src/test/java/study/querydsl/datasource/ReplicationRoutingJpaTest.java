@@ -0,0 +1,99 @@
+package study.querydsl.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepositroy;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 리포지토리(JPA)로 읽기/쓰기 라우팅 확인 <br/>
+ * replica에는 스키마만 복제하고 데이터는 넣지 않는다. -> replica에서 조회하면 결과가 비어있다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicationRoutingJpaTest.PRIMARY_URL,
+        "spring.jpa.open-in-view=false",
+        "querydsl.datasource.routing.enabled=true",
+        "querydsl.datasource.routing.sticky-millis=60000",
+        "querydsl.datasource.routing.replicas[0].url=" + ReplicationRoutingJpaTest.REPLICA_URL
+})
+class ReplicationRoutingJpaTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired MemberJpaRepositroy memberJpaRepositroy;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberQueryRepository memberQueryRepository;
+
+    JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    MemberSearchCondition condition = new MemberSearchCondition();
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        Integer replicated = replica.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'MEMBER'", Integer.class);
+        if (replicated == null || replicated == 0) {
+            primary.queryForList("script nodata", String.class).forEach(replica::execute);
+        }
+
+        teamId = new TransactionTemplate(transactionManager).execute(status -> {
+            Team team = new Team("routingTeam");
+            em.persist(team);
+            em.persist(new Member("routed", 10, team));
+            return team.getId();
+        });
+        ReadYourWrites.clear(); // 다른 요청 (쓰기 고정 없음)
+        condition.setUsername("routed");
+    }
+
+    @AfterEach
+    public void after() {
+        primary.update("delete from member");
+        primary.update("delete from team");
+        ReadYourWrites.clear();
+    }
+
+    /**
+     * 조회 메소드는 읽기 전용 트랜잭션 -> replica
+     */
+    @Test
+    public void readsGoToReplica() {
+        assertThat(memberJpaRepositroy.searchByWhereCondition(condition)).isEmpty();
+        assertThat(memberRepository.searchComplex(condition, PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(memberQueryRepository.searchPageWithTeam(condition, PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    /**
+     * 같은 스레드에서 조회 후 쓰기는 primary에 저장되고, 커밋 후 조회는 primary (read-your-writes)
+     */
+    @Test
+    public void writeAfterReadGoesToPrimary() {
+        assertThat(memberJpaRepositroy.searchByWhereCondition(condition)).isEmpty();
+
+        memberJpaRepositroy.saveWithTeamId("routed", 20, teamId);
+
+        assertThat(primary.queryForObject("select count(*) from member where username = 'routed'", Integer.class))
+                .isEqualTo(2);
+        assertThat(replica.queryForObject("select count(*) from member", Integer.class)).isZero();
+        assertThat(memberJpaRepositroy.searchByWhereCondition(condition)).hasSize(2);
+    }
+}
@@ -0,0 +1,124 @@
+package study.querydsl.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import study.querydsl.repository.MemberJpaRepositroy;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요청 기한이 실제 JDBC 쿼리 타임아웃(Statement.setQueryTimeout)으로 적용되는지 확인 <br/>
+ * 테스트용 DataSource 프록시(QueryTimeoutRecorder, 중첩 @TestConfiguration)가 Statement.setQueryTimeout 호출을 기록한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@Import(DeadlineQueryTest.DelayAdvice.class)
+class DeadlineQueryTest {
+    static final List<Integer> QUERY_TIMEOUTS = new CopyOnWriteArrayList<>();
+    static final String DELAY_HEADER = "X-Test-Delay";
+
+    @Autowired MemberJpaRepositroy memberJpaRepositroy;
+    @Autowired MockMvc mockMvc;
+
+    @AfterEach
+    public void after() {
+        RequestDeadline.end();
+        QUERY_TIMEOUTS.clear();
+    }
+
+    /**
+     * 남은 시간(2.5초)을 초 단위로 올림하여 쿼리 타임아웃(3초)으로 적용한다.
+     */
+    @Test
+    public void queryGetsTimeout() {
+        RequestDeadline.begin(2500, 0.6);
+        memberJpaRepositroy.findByUsername_Querydsl("member1");
+        assertThat(QUERY_TIMEOUTS).containsExactly(3);
+
+        RequestDeadline.end();
+        QUERY_TIMEOUTS.clear();
+        memberJpaRepositroy.findByUsername_Querydsl("member1");
+        assertThat(QUERY_TIMEOUTS).isEmpty();
+    }
+
+    /**
+     * 쿼리 시작 전에 기한이 지난 페이징 검색은 504
+     */
+    @Test
+    public void overduePagedSearchReturnsGatewayTimeout() throws Exception {
+        mockMvc.perform(get("/v3/members")
+                        .param("page", "0")
+                        .param("size", "5")
+                        .header("X-Request-Timeout", "1")
+                        .header(DELAY_HEADER, "20"))
+                .andExpect(status().isGatewayTimeout());
+        assertThat(QUERY_TIMEOUTS).isEmpty();
+    }
+
+    /** DataSource -> Connection -> Statement를 감싸서 setQueryTimeout(초) 호출을 기록 */
+    @TestConfiguration
+    static class QueryTimeoutRecorder implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource) {
+                return proxy(DataSource.class, bean);
+            }
+            return bean;
+        }
+
+        private static <T> T proxy(Class<T> type, Object target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().equals("setQueryTimeout") && (int) args[0] > 0) {
+                    QUERY_TIMEOUTS.add((int) args[0]);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection && method.getReturnType() == Connection.class) {
+                    return proxy(Connection.class, result);
+                }
+                if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return proxy(method.getReturnType().asSubclass(Statement.class), result);
+                }
+                return result;
+            }));
+        }
+    }
+
+    /** 핸들러 실행 직전(기한 시작 이후) DELAY_HEADER(ms)만큼 지연 -> 쿼리 시작 전에 기한이 지나도록 만든다. */
+    @ControllerAdvice
+    static class DelayAdvice {
+        @ModelAttribute
+        public void delay(HttpServletRequest request) throws InterruptedException {
+            String delay = request.getHeader(DELAY_HEADER);
+            if (delay != null) {
+                Thread.sleep(Long.parseLong(delay));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package study.querydsl.deadline;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import study.querydsl.limit.QueryClass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDeadlineTest {
+
+    @AfterEach
+    public void after() {
+        RequestDeadline.end();
+    }
+
+    /**
+     * Hibernate는 힌트(ms)를 초 단위로 반올림하므로 1초 미만도 1초로 올림한다. (0이면 타임아웃 없음)
+     */
+    @Test
+    public void hintRoundsUpToSeconds() {
+        assertThat(RequestDeadline.toHintMillis(0)).isEqualTo(1000);
+        assertThat(RequestDeadline.toHintMillis(400)).isEqualTo(1000);
+        assertThat(RequestDeadline.toHintMillis(1000)).isEqualTo(1000);
+        assertThat(RequestDeadline.toHintMillis(1001)).isEqualTo(2000);
+    }
+
+    /**
+     * 중첩된 기한은 더 이른 쪽을 따르고, 끝나면 이전 기한으로 되돌린다.
+     */
+    @Test
+    public void nestedDeadlineKeepsEarlier() {
+        RequestDeadline.begin(1000, 0.6);
+
+        long nested = RequestDeadline.call(60_000, 1.0, RequestDeadline::remainingMillis);
+        assertThat(nested).isLessThanOrEqualTo(1000);
+        assertThat(RequestDeadline.contentShare()).isEqualTo(0.6);
+
+        RequestDeadline.end();
+        assertThat(RequestDeadline.isActive()).isFalse();
+        assertThat(RequestDeadline.remainingMillis()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * 다른 스레드로 넘긴 기한 시각은 실행 시점과 무관하게 그대로 유지된다. (대기 시간 포함)
+     */
+    @Test
+    public void callUntilKeepsAbsoluteDeadline() throws InterruptedException {
+        RequestDeadline.begin(1000, 0.6);
+        long deadlineNanos = RequestDeadline.deadlineNanos();
+        RequestDeadline.end();
+        Thread.sleep(20);
+
+        long nested = RequestDeadline.callUntil(deadlineNanos, 0.6, RequestDeadline::deadlineNanos);
+        assertThat(nested).isEqualTo(deadlineNanos);
+        assertThat(RequestDeadline.callUntil(deadlineNanos, 0.6, RequestDeadline::remainingMillis)).isLessThanOrEqualTo(980);
+        assertThat(RequestDeadline.isActive()).isFalse();
+    }
+
+    /**
+     * 기한이 지난 뒤에는 쿼리를 시작하지 않는다.
+     */
+    @Test
+    public void expiredDeadlineRejectsQuery() throws InterruptedException {
+        RequestDeadline.begin(1, 0.6);
+        Thread.sleep(5);
+
+        assertThatThrownBy(() -> RequestDeadline.apply(new JPAQuery<>(), QueryClass.CONTENT))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.entity;
+
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 하이버네이트 바이트코드 향상 적용 확인 (build.gradle hibernate.enhance) <br/>
+ * 향상된 엔티티는 SelfDirtinessTracker를 구현하고 setter 호출시 변경 필드를 직접 기록한다. <br/>
+ * -PhibernateEnhance=false 로 빌드하면 생략한다.
+ */
+@DisabledIfSystemProperty(named = "hibernateEnhance", matches = "false")
+class EntityEnhancementTest {
+
+    @Test
+    public void entitiesAreEnhanced() {
+        assertThat(SelfDirtinessTracker.class).isAssignableFrom(Member.class);
+        assertThat(SelfDirtinessTracker.class).isAssignableFrom(Team.class);
+    }
+
+    @Test
+    public void setterTracksDirtyAttribute() {
+        Member member = new Member("member1", 10);
+        SelfDirtinessTracker tracker = (SelfDirtinessTracker) member;
+        tracker.$$_hibernate_clearDirtyAttributes();
+
+        member.setAge(20);
+
+        assertThat(tracker.$$_hibernate_getDirtyAttributes()).containsExactly("age");
+    }
+}
@@ -0,0 +1,158 @@
+package study.querydsl.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import study.querydsl.limit.AdaptiveConcurrencyLimiter.Outcome;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(1000);
+
+    ConcurrencyLimitProperties properties;
+    long now;
+
+    @BeforeEach
+    public void before() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(10);
+        properties.setMaxWaitMillis(0);
+        now = 0;
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter("test", properties, () -> now);
+    }
+
+    /**
+     * 한도(4)만큼 실행 중이면 바로 거절하고, 하나가 끝나면 다시 허가한다.
+     */
+    @Test
+    public void rejectOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire()).isNotNull();
+        }
+
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+
+        first.release(FAST, Outcome.SUCCESS);
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    /**
+     * 한도를 절반 이상 쓰는 동안 지연이 일정하면 한도가 늘어난다. (additive increase)
+     */
+    @Test
+    public void increaseWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        for (int i = 0; i < 100; i++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (int j = 0; j < limiter.getLimit(); j++) {
+                permits.add(limiter.tryAcquire());
+            }
+            permits.forEach(permit -> permit.release(FAST, Outcome.SUCCESS));
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    /**
+     * 지연이 최소 지연의 2배를 넘거나 실패하면 한도가 줄어들고 minLimit 아래로는 줄지 않는다. (multiplicative decrease)
+     */
+    @Test
+    public void decreaseOnLatencyOrFailure() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        limiter.tryAcquire().release(FAST, Outcome.SUCCESS);
+
+        limiter.tryAcquire().release(SLOW, Outcome.SUCCESS);
+        assertThat(limiter.getLimit()).isEqualTo(3); // 4 * 0.9
+
+        for (int i = 0; i < 20; i++) {
+            now += WINDOW;
+            limiter.tryAcquire().release(FAST, Outcome.DROPPED);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    /**
+     * 한 감소 주기(decreaseWindowMillis) 안의 느린 응답은 여러 건이어도 한번만 줄인다.
+     */
+    @Test
+    public void decreaseOncePerWindow() {
+        properties.setInitialLimit(10);
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        limiter.tryAcquire().release(FAST, Outcome.SUCCESS);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire().release(SLOW, Outcome.DROPPED);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        now += WINDOW;
+        limiter.tryAcquire().release(SLOW, Outcome.DROPPED);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    /**
+     * 클라이언트 오류 등 IGNORED 결과는 한도를 바꾸지 않는다.
+     */
+    @Test
+    public void ignoredOutcomeDoesNotAdjust() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        for (int i = 0; i < 10; i++) {
+            now += WINDOW;
+            limiter.tryAcquire().release(SLOW, Outcome.IGNORED);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * 비용이 다른 모양(1ms 단건 조회, 100ms 범위 검색)이 섞여도 모양별로 기준을 관측하므로 한도가 무너지지 않는다. <br/>
+     * 매 회차 한도만큼 실행하고 처리량(허가 수)이 줄지 않는지 확인한다.
+     */
+    @Test
+    public void mixedShapesKeepThroughput() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        int granted = 0;
+        for (int round = 0; round < 100; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            List<Long> latencies = new ArrayList<>();
+            for (int j = 0; j < limiter.getLimit(); j++) {
+                boolean cheap = j % 2 == 0;
+                permits.add(limiter.tryAcquire(cheap ? "username" : "ageGoe"));
+                latencies.add(cheap ? FAST : SLOW);
+            }
+            granted += permits.size();
+            for (int j = 0; j < permits.size(); j++) {
+                permits.get(j).release(latencies.get(j), Outcome.SUCCESS);
+            }
+            now += TimeUnit.MILLISECONDS.toNanos(100);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(granted).isGreaterThan(100 * 4);
+        assertThat(limiter.getRejected()).isZero();
+    }
+
+    /**
+     * 허가는 한번만 반납된다.
+     */
+    @Test
+    public void releaseOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        permit.release(FAST, Outcome.SUCCESS);
+        permit.release(FAST, Outcome.SUCCESS);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
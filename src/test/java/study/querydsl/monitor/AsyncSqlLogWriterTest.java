@@ -0,0 +1,54 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.P6SpyFormatter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncSqlLogWriterTest {
+
+    /**
+     * 샘플링 비율 0 : 일반 SQL은 버리고 느린 SQL은 항상 기록 <br/>
+     * 버퍼가 가득 차면 버리고 유실 건수를 센다. (worker를 시작하지 않아 버퍼가 비워지지 않음)
+     */
+    @Test
+    public void samplingAndDrop() {
+        SqlLogProperties properties = new SqlLogProperties();
+        properties.setBufferSize(1);
+        properties.setSampleRate(0.0);
+        properties.setSlowThresholdMillis(100);
+        AsyncSqlLogWriter writer = new AsyncSqlLogWriter(properties, new P6SpyFormatter());
+
+        assertThat(writer.offer(1, 5, "statement", "select 1")).isFalse();   // 샘플링 제외
+        assertThat(writer.offer(1, 150, "statement", "select 2")).isTrue();  // 느린 SQL
+        assertThat(writer.offer(1, 200, "statement", "select 3")).isFalse(); // 버퍼 초과
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+    }
+
+    /**
+     * 종료 시 버퍼에 남은 로그를 모두 출력하고, 이후에는 버퍼에 담지 않는다.
+     */
+    @Test
+    public void drainOnStop() {
+        SqlLogProperties properties = new SqlLogProperties();
+        List<String> written = new CopyOnWriteArrayList<>();
+        AsyncSqlLogWriter writer = new AsyncSqlLogWriter(properties,
+                (connectionId, now, elapsed, category, prepared, sql, url) -> {
+                    written.add(category + " " + sql);
+                    return sql;
+                });
+        for (int i = 0; i < 10; i++) {
+            writer.offer(1, 5, "statement", "select " + i);
+        }
+        writer.offer(1, 5, "batch", "insert into member");
+
+        writer.start();
+        writer.stop();
+
+        assertThat(written).hasSize(11).contains("statement select 0", "batch insert into member");
+        assertThat(writer.offer(1, 5, "statement", "select 11")).isFalse();
+    }
+}
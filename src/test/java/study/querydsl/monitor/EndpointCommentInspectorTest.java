@@ -0,0 +1,90 @@
+package study.querydsl.monitor;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL 출처(endpoint) 주석과 sql.statement endpoint 태그 <br/>
+ * 실행된 SQL은 테스트용 JdbcEventListener(P6Spy가 빈으로 등록된 리스너를 모두 사용)로 수집한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointCommentInspectorTest {
+    static final String ENDPOINT = "MemberController.searchMemberV1";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired SqlRecorder sqlRecorder;
+
+    @AfterEach
+    public void after() {
+        SqlAttribution.clear();
+        sqlRecorder.sqls.clear();
+    }
+
+    /**
+     * /v1/members 요청의 SQL은 endpoint 주석으로 시작하고, 지표에는 endpoint 태그가 붙는다. <br/>
+     * 주석은 SQL 모양(SqlFingerprint)에 영향을 주지 않는다.
+     */
+    @Test
+    public void commentAndTag() throws Exception {
+        sqlRecorder.sqls.clear(); // 기동 중 실행된 SQL 제외
+        mockMvc.perform(get("/v1/members").param("username", "member1"))
+                .andExpect(status().isOk());
+
+        String prefix = "/* endpoint=" + ENDPOINT + " */ ";
+        String sql = sqlRecorder.sqls.stream()
+                .filter(recorded -> recorded.contains("from member"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(sql).startsWith(prefix);
+        assertThat(SqlFingerprint.of(sql)).isEqualTo(SqlFingerprint.of(sql.substring(prefix.length())));
+        assertThat(meterRegistry.find("sql.statement").tag("endpoint", ENDPOINT).timers()).isNotEmpty();
+    }
+
+    /**
+     * endpoint에 주석 종료(*&#47;)가 들어 있어도 주석을 벗어나지 않는다. 요청 스레드가 아니면 그대로 둔다.
+     */
+    @Test
+    public void stripCommentEnd() {
+        EndpointCommentInspector inspector = new EndpointCommentInspector();
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+
+        SqlAttribution.set("Evil*/Controller.drop", "trace");
+        assertThat(inspector.inspect("select 1")).isEqualTo("/* endpoint=EvilController.drop */ select 1");
+    }
+
+    @TestConfiguration
+    static class SqlRecorderConfig {
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+    }
+
+    static class SqlRecorder extends JdbcEventListener {
+        final List<String> sqls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            sqls.add(statementInformation.getSql());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlushTimingListenerTest {
+    FlushTimingListener listener = new FlushTimingListener();
+    SqlStatementStatistics statistics;
+
+    @BeforeEach
+    public void before() {
+        statistics = SqlStatementMonitor.begin("test");
+    }
+
+    @AfterEach
+    public void after() {
+        SqlStatementMonitor.end();
+    }
+
+    /**
+     * flush(커밋, 명시적 flush)는 바로 센다.
+     */
+    @Test
+    public void countFlush() {
+        listener.flushStart();
+        listener.flushEnd(3, 0);
+
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+        assertThat(statistics.getPeakManagedEntities()).isZero(); // 관리 엔티티 수는 HibernateSessionMetrics가 기록
+    }
+
+    /**
+     * partial flush는 실제로 flush한 경우(recordAutoFlush(true))만 센다.
+     */
+    @Test
+    public void countPartialFlushOnlyWhenFlushed() {
+        listener.partialFlushStart();
+        listener.partialFlushEnd(5, 0);
+        statistics.recordAutoFlush(false, 5);
+        assertThat(statistics.getFlushCount()).isZero();
+
+        listener.partialFlushStart();
+        listener.partialFlushEnd(5, 0);
+        statistics.recordAutoFlush(true, 6);
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+        assertThat(statistics.getPeakManagedEntities()).isEqualTo(6);
+    }
+
+    /**
+     * 집계 범위 밖에서는 기록하지 않는다.
+     */
+    @Test
+    public void ignoreOutsideScope() {
+        SqlStatementMonitor.end();
+        listener.flushStart();
+        listener.flushEnd(1, 0);
+        assertThat(statistics.getFlushCount()).isZero();
+    }
+}
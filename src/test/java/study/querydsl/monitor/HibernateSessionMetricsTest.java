@@ -0,0 +1,76 @@
+package study.querydsl.monitor;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class HibernateSessionMetricsTest {
+    @Autowired
+    EntityManager em;
+    JPAQueryFactory queryFactory;
+    Team team;
+    SqlStatementStatistics statistics;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        team = new Team("teamA");
+        em.persist(team);
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Member("member" + i, i * 10, team));
+        }
+        em.flush();
+        em.clear();
+        statistics = SqlStatementMonitor.begin("test");
+    }
+
+    @AfterEach
+    public void after() {
+        SqlStatementMonitor.end();
+    }
+
+    /**
+     * 로딩된 엔티티 수와 관리 엔티티 최대 개수 (영속성 컨텍스트 기준)
+     */
+    @Test
+    public void recordEntityLoad() {
+        List<Member> members = queryFactory.selectFrom(member).fetch();
+
+        assertThat(members).hasSize(3);
+        assertThat(statistics.getEntitiesLoaded()).isEqualTo(3);
+        assertThat(statistics.getPeakManagedEntities()).isEqualTo(3);
+    }
+
+    /**
+     * 변경이 없는 쿼리의 auto flush 검사는 flush로 세지 않고, 변경이 있어 실제로 flush한 경우와 명시적 flush만 센다.
+     */
+    @Test
+    public void countOnlyRealFlushes() {
+        for (int i = 0; i < 3; i++) {
+            queryFactory.selectFrom(member).fetch();
+        }
+        assertThat(statistics.getFlushCount()).isZero();
+
+        em.persist(new Member("member3", 30, em.getReference(Team.class, team.getId())));
+        queryFactory.selectFrom(member).fetch(); // insert 후 조회 (auto flush)
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+
+        em.flush();
+        assertThat(statistics.getFlushCount()).isEqualTo(2);
+        assertThat(statistics.getPeakManagedEntities()).isEqualTo(4);
+    }
+}
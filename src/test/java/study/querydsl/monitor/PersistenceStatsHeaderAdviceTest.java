@@ -0,0 +1,63 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistenceStatsHeaderAdviceTest {
+
+    @AfterEach
+    public void after() {
+        SqlStatementMonitor.end();
+    }
+
+    /**
+     * debug-header 기본값(false)이면 적용하지 않는다.
+     */
+    @Test
+    public void disabledByDefault() {
+        PersistenceStatsHeaderAdvice advice = new PersistenceStatsHeaderAdvice(new SqlMonitorProperties());
+        assertThat(advice.supports(null, null)).isFalse();
+    }
+
+    /**
+     * 현재 요청의 지표를 X-Persistence-Stats 헤더로 내려준다.
+     */
+    @Test
+    public void writeHeader() {
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        properties.setDebugHeader(true);
+        PersistenceStatsHeaderAdvice advice = new PersistenceStatsHeaderAdvice(properties);
+        SqlStatementMonitor.begin("test").record("select 1", 0);
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+        Object body = advice.beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(new MockHttpServletRequest()), response);
+
+        assertThat(advice.supports(null, null)).isTrue();
+        assertThat(body).isEqualTo("body");
+        assertThat(response.getHeaders().getFirst(PersistenceStatsHeaderAdvice.HEADER_NAME))
+                .startsWith("statements=1;");
+    }
+
+    /**
+     * 집계 범위가 없으면 헤더를 쓰지 않는다.
+     */
+    @Test
+    public void noHeaderOutsideScope() {
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        properties.setDebugHeader(true);
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+        new PersistenceStatsHeaderAdvice(properties).beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(new MockHttpServletRequest()), response);
+
+        assertThat(response.getHeaders().containsKey(PersistenceStatsHeaderAdvice.HEADER_NAME)).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.monitor;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 임계치 0ms : 모든 SQL을 느린 쿼리로 기록한다.
+ */
+@SpringBootTest(properties = "querydsl.sql-monitor.slow-query-threshold-millis=0")
+@Transactional
+class SlowQueryRecorderTest {
+    @Autowired
+    EntityManager em;
+    @Autowired
+    SlowQueryStore slowQueryStore;
+    @Autowired
+    SqlShapeRegistry sqlShapeRegistry;
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        slowQueryStore.clear();
+    }
+
+    /**
+     * 바인딩 값이 포함된 SQL을 기록하고, 실행계획은 백그라운드에서 채운다. <br/>
+     * 실행계획 조회(EXPLAIN)는 원본 DataSource에서 실행하므로 SQL 모양 지표에 잡히지 않는다.
+     */
+    @Test
+    public void captureAndExplain() throws InterruptedException {
+        queryFactory.selectFrom(member).where(member.username.eq("slowMember")).fetch();
+
+        SlowQuery slowQuery = slowQueryStore.findAll().stream()
+                .filter(query -> query.getSql().contains("'slowMember'"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(slowQuery.getEndpoint()).isEqualTo(Thread.currentThread().getName()); // 요청 스레드가 아니면 스레드명
+
+        for (int i = 0; i < 50 && slowQuery.getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(slowQuery.getPlan()).containsIgnoringCase("member").doesNotStartWith("EXPLAIN 실패");
+        assertThat(sqlShapeRegistry.shapes().values()).noneMatch(shape -> shape.startsWith("explain"));
+    }
+}
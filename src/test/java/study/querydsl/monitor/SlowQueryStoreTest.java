@@ -0,0 +1,29 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryStoreTest {
+
+    /**
+     * slowQueryCapacity 개까지 보관하고 초과시 가장 오래된 기록부터 버린다. (조회는 최근 기록부터)
+     */
+    @Test
+    public void capacity() {
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        properties.setSlowQueryCapacity(2);
+        SlowQueryStore store = new SlowQueryStore(properties);
+
+        for (int i = 1; i <= 3; i++) {
+            store.add(new SlowQuery("select " + i, 600, "GET /v1/members", "trace" + i, LocalDateTime.now()));
+        }
+
+        assertThat(store.findAll()).extracting(SlowQuery::getSql).containsExactly("select 3", "select 2");
+
+        store.clear();
+        assertThat(store.findAll()).isEmpty();
+    }
+}
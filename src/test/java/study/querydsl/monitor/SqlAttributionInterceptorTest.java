@@ -0,0 +1,29 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlAttributionInterceptorTest {
+
+    /**
+     * 비동기 응답이 시작되면 요청 스레드의 출처/MDC를 제거한다.
+     */
+    @Test
+    public void clearOnAsyncStarted() {
+        SqlAttributionInterceptor interceptor = new SqlAttributionInterceptor();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/members/stream");
+        request.addHeader(SqlAttributionInterceptor.TRACE_HEADER, "trace-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        assertThat(SqlAttribution.traceId()).isEqualTo("trace-1");
+
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        assertThat(SqlAttribution.traceId()).isNull();
+        assertThat(MDC.get(SqlAttributionInterceptor.TRACE_MDC_KEY)).isNull();
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    /**
+     * 리터럴, IN 목록 길이, 주석, 공백 차이는 같은 모양으로 본다.
+     */
+    @Test
+    public void sameShape() {
+        String fingerprint1 = SqlFingerprint.of("select team0_.team_id from team team0_ where team0_.team_id=1");
+        String fingerprint2 = SqlFingerprint.of("/* endpoint=GET /v1/members */ SELECT team0_.team_id\n  FROM team team0_ WHERE team0_.team_id=25");
+        assertThat(fingerprint1).isEqualTo(fingerprint2);
+        assertThat(fingerprint1).isEqualTo("select team0_.team_id from team team0_ where team0_.team_id=?");
+
+        String in1 = SqlFingerprint.of("select * from member where team_id in (1, 2)");
+        String in2 = SqlFingerprint.of("select * from member where team_id in (3, 4, 5, 6)");
+        assertThat(in1).isEqualTo(in2);
+
+        String str = SqlFingerprint.of("select * from member where username='Member''1'");
+        assertThat(str).isEqualTo("select * from member where username=?");
+    }
+
+    /**
+     * 같은 모양의 select 반복(N+1)과 값까지 동일한 SQL의 중복 실행을 구분한다.
+     */
+    @Test
+    public void repeatedAndDuplicate() {
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        SqlStatementStatistics statistics = new SqlStatementStatistics("test");
+        statistics.record("select * from member", 0);
+        statistics.record("select * from team where team_id=1", 0);
+        statistics.record("select * from team where team_id=2", 0);
+        statistics.record("select * from team where team_id=3", 0);
+        statistics.record("select * from member", 0);
+
+        assertThat(statistics.getStatementCount()).isEqualTo(5);
+        assertThat(statistics.getRepeatedSelects(properties.getRepeatedSelectThreshold()))
+                .containsEntry("select * from team where team_id=?", 3);
+        assertThat(statistics.getDuplicateExecutions(properties.getDuplicateExecutionThreshold()))
+                .containsOnlyKeys("select * from member");
+        assertThat(statistics.violations(properties)).hasSize(2);
+    }
+}
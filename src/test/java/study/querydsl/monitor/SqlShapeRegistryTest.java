@@ -0,0 +1,41 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlShapeRegistryTest {
+
+    /**
+     * 같은 모양은 같은 식별자, 한도를 넘는 새로운 모양은 other
+     */
+    @Test
+    public void boundedShapes() {
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        properties.setMaxMetricShapes(2);
+        SqlShapeRegistry registry = new SqlShapeRegistry(properties);
+
+        String content = registry.idOf(SqlFingerprint.of("select member_id from member where age>=? limit ?"));
+        String count = registry.idOf(SqlFingerprint.of("select count(member_id) from member where age>=?"));
+        assertThat(content).isNotEqualTo(count);
+        assertThat(registry.idOf(SqlFingerprint.of("select member_id from member where age>=? limit ?"))).isEqualTo(content);
+        assertThat(registry.idOf(SqlFingerprint.of("delete from member"))).isEqualTo(SqlShapeRegistry.OTHER);
+        assertThat(registry.shapes()).hasSize(2);
+        assertThat(SqlShapeRegistry.categoryOf(SqlFingerprint.of("SELECT 1"))).isEqualTo("select");
+    }
+
+    /**
+     * 식별자가 겹치는 서로 다른 모양은 합쳐지지 않는다.
+     */
+    @Test
+    public void collidingIdsStayDistinct() {
+        SqlShapeRegistry registry = new SqlShapeRegistry(new SqlMonitorProperties(), fingerprint -> "0000000000000000");
+
+        String first = registry.idOf(SqlFingerprint.of("select member_id from member"));
+        String second = registry.idOf(SqlFingerprint.of("select team_id from team"));
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(registry.shapes()).hasSize(2);
+        assertThat(SqlShapeRegistry.digest("select 1")).hasSize(16).isEqualTo(SqlShapeRegistry.digest("select 1"));
+    }
+}
@@ -0,0 +1,39 @@
+package study.querydsl.monitor;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+/**
+ * 테스트 메소드 단위 SQL 실행 횟수 집계 <br/>
+ * 사용법 : @SpringBootTest 테스트 클래스에 @ExtendWith(SqlStatementCountExtension.class) 추가 <br/>
+ * querydsl.sql-monitor.fail-on-violation: true 이면 임계치 초과(N+1, 중복 실행 등)시 테스트를 실패시킨다. <br/>
+ * 테스트 안에서 SqlStatementMonitor.end()를 직접 호출한 경우 검사하지 않는다.
+ */
+public class SqlStatementCountExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SqlStatementMonitor.begin(context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+        if (statistics == null) {
+            return;
+        }
+        SqlMonitorProperties properties = SpringExtension.getApplicationContext(context).getBean(SqlMonitorProperties.class);
+        List<String> violations = statistics.violations(properties);
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (properties.isFailOnViolation()) {
+            throw new AssertionError(String.join(System.lineSeparator(), violations));
+        }
+        violations.forEach(System.out::println);
+    }
+}
@@ -0,0 +1,28 @@
+package study.querydsl.monitor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCountInterceptorTest {
+
+    /**
+     * 비동기 응답이 시작되면 요청 스레드의 집계를 끝낸다.
+     */
+    @Test
+    public void endOnAsyncStarted() {
+        SqlStatementCountInterceptor interceptor =
+                new SqlStatementCountInterceptor(new SqlMonitorProperties(), new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/members/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        assertThat(SqlStatementMonitor.current()).isNotNull();
+
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        assertThat(SqlStatementMonitor.current()).isNull();
+    }
+}
@@ -0,0 +1,76 @@
+package study.querydsl.monitor;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * SqlStatementCountExtension 적용 예시 <br/>
+ * 테스트 메소드마다 SQL 실행 횟수를 집계하고 N+1 발생시 테스트를 실패시킨다.
+ */
+@SpringBootTest
+@Transactional
+@ExtendWith(SqlStatementCountExtension.class)
+class SqlStatementMonitorTest {
+    @Autowired
+    EntityManager em;
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("Member" + i, i * 10, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 루프 안에서 조회하는 N+1 : 회원 조회 1회 + 팀명 조회 3회 <br/>
+     * (지연로딩 프록시 초기화는 default_batch_fetch_size에 의해 IN 절로 묶이므로 직접 조회로 재현)
+     */
+    @Test
+    public void detectNPlusOne() {
+        List<Member> members = queryFactory.selectFrom(member).fetch();
+        for (Member findMember : members) {
+            String teamName = queryFactory
+                    .select(team.name)
+                    .from(team)
+                    .where(team.id.eq(findMember.getTeam().getId()))
+                    .fetchOne();
+            System.out.println("team = " + teamName);
+        }
+        SqlStatementStatistics statistics = SqlStatementMonitor.end(); // 직접 종료하면 Extension은 검사하지 않는다.
+        assertThat(statistics.getRepeatedSelects(3)).hasSize(1);
+    }
+
+    /**
+     * 페치조인 : 쿼리 1회 (임계치 위반 없음)
+     */
+    @Test
+    public void fetchJoinPasses() {
+        List<Member> members = queryFactory.selectFrom(member)
+                .join(member.team, team).fetchJoin()
+                .fetch();
+        for (Member findMember : members) {
+            System.out.println("team = " + findMember.getTeam().getName());
+        }
+        assertThat(SqlStatementMonitor.current().getRepeatedSelects(3)).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitor.SqlStatementMonitor;
+import study.querydsl.monitor.SqlStatementStatistics;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class FetchPlanTest {
+    @Autowired
+    EntityManager em;
+
+    @PersistenceUnit
+    EntityManagerFactory emf;
+
+    @Autowired MemberQueryRepository memberQueryRepository;
+    @Autowired TeamQueryRepository teamQueryRepository;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("Member" + i, i * 10, team));
+            em.persist(new Member("Member" + i + "-" + i, i * 10 + 1, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * member-with-team : content 쿼리 1회로 팀까지 초기화
+     */
+    @Test
+    public void memberWithTeam() {
+        SqlStatementMonitor.begin("memberWithTeam");
+        Page<Member> result = memberQueryRepository.searchPageWithTeam(new MemberSearchCondition(), PageRequest.of(0, 10));
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+
+        assertThat(result.getContent()).hasSize(6);
+        assertThat(statistics.getStatementCount()).isEqualTo(1); // 첫 페이지이고 content가 페이지 사이즈보다 작으므로 count 생략
+        for (Member findMember : result.getContent()) {
+            assertThat(emf.getPersistenceUnitUtil().isLoaded(findMember.getTeam())).isTrue();
+        }
+    }
+
+    /**
+     * team-with-members : 팀만 페이징(limit) 후 회원 컬렉션 조회
+     */
+    @Test
+    public void teamWithMembersPaging() {
+        Page<Team> result = teamQueryRepository.searchPageWithMembers(null, PageRequest.of(0, 2));
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        for (Team findTeam : result.getContent()) {
+            assertThat(emf.getPersistenceUnitUtil().isLoaded(findTeam, "members")).isTrue();
+            assertThat(findTeam.getMembers()).hasSize(2);
+        }
+    }
+}
@@ -9,8 +9,12 @@ import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.monitor.SqlStatementMonitor;
+import study.querydsl.monitor.SqlStatementStatistics;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
 
 import java.util.List;
 
@@ -25,6 +29,9 @@ class MemberJpaRepositroyTest {
 
     @Autowired MemberJpaRepositroy memberJpaRepositroy;
 
+    @PersistenceUnit
+    EntityManagerFactory emf;
+
     /**
      * 순수 JPA 테스트 <br/>
      * jpql과 queryDsl
@@ -78,4 +85,28 @@ class MemberJpaRepositroyTest {
         assertThat(result).extracting("username").containsExactly("Member3","Member4");
         assertThat(result2).extracting("username").containsExactly("Member3","Member4");
     }
-}
\ No newline at end of file
+
+    /**
+     * 팀 식별자로 회원 추가 - 팀, 회원 컬렉션 조회 없이 insert만 발생
+     */
+    @Test
+    public void saveWithTeamId() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("Member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        SqlStatementMonitor.begin("saveWithTeamId");
+        Member saved = memberJpaRepositroy.saveWithTeamId("Member2", 20, teamA.getId());
+        em.flush();
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+
+        assertThat(statistics.getShapes().keySet()).noneMatch(sql -> sql.startsWith("select"));
+        assertThat(emf.getPersistenceUnitUtil().isLoaded(saved.getTeam())).isFalse();
+
+        em.clear();
+        Team findTeam = em.find(Team.class, teamA.getId());
+        assertThat(findTeam.getMembers()).extracting("username").containsExactlyInAnyOrder("Member1", "Member2");
+    }
+}
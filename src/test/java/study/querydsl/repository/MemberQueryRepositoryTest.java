@@ -0,0 +1,62 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberQueryRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired MemberQueryRepository memberQueryRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * offset 페이징, 지연 조인, 키셋 페이징의 결과가 같아야 한다.
+     */
+    @Test
+    public void paginationStrategiesReturnSamePage() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+        PageRequest pageRequest = PageRequest.of(1, 3);
+
+        Page<MemberTeamDto> offset = memberQueryRepository.searchPageByApplyPagination(condition, pageRequest);
+        Page<MemberTeamDto> deferred = memberQueryRepository.searchPageByDeferredJoin(condition, pageRequest);
+        List<MemberTeamDto> firstPage = memberQueryRepository.searchByKeyset(condition, null, 3);
+        List<MemberTeamDto> keyset = memberQueryRepository.searchByKeyset(condition, firstPage.get(2).getMemberId(), 3);
+
+        assertThat(offset.getTotalElements()).isEqualTo(8);
+        assertThat(deferred.getTotalElements()).isEqualTo(8);
+        assertThat(memberQueryRepository.count(condition)).isEqualTo(8);
+        assertThat(deferred.getContent()).extracting("username").containsExactly("member5", "member6", "member7");
+        assertThat(keyset).extracting("username").containsExactly("member5", "member6", "member7");
+        assertThat(offset.getContent()).hasSize(3); // 정렬 조건이 없으므로 개수만 비교
+    }
+}
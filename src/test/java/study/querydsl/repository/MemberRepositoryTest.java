@@ -11,8 +11,12 @@ import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
+import study.querydsl.monitor.SqlStatementMonitor;
+import study.querydsl.monitor.SqlStatementStatistics;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +29,9 @@ class MemberRepositoryTest {
 
     @Autowired MemberRepository memberRepository;
 
+    @PersistenceUnit
+    EntityManagerFactory emf;
+
     /**
      * 순수 JPA 테스트 <br/>
      * jpql과 queryDsl
@@ -123,4 +130,28 @@ class MemberRepositoryTest {
             System.out.println("findMember = " + findMember);
         }
     }
+
+    /**
+     * 연관관계 배치 조회 - 회원 목록의 팀 프록시를 IN 쿼리 1회로 초기화
+     */
+    @Test
+    public void initializeTeams() {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("Member" + i, i * 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        List<Member> members = memberRepository.findAll();
+        SqlStatementMonitor.begin("initializeTeams");
+        memberRepository.initializeTeams(members);
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+
+        assertThat(statistics.getStatementCount()).isEqualTo(1);
+        for (Member findMember : members) {
+            assertThat(emf.getPersistenceUnitUtil().isLoaded(findMember.getTeam())).isTrue();
+        }
+    }
 }
\ No newline at end of file
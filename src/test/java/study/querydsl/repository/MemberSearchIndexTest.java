@@ -0,0 +1,82 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.monitor.SqlStatementMonitor;
+import study.querydsl.monitor.SqlStatementStatistics;
+import study.querydsl.startup.IndexCheck;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MemberSearchCondition 조건 조합별 실행계획 (H2 EXPLAIN) <br/>
+ * shape : 4개 필드(username, teamName, ageGoe, ageLoe) 유무 조합 16가지 (비트마스크, QueryBuildingBenchmark와 동일) <br/>
+ * 실제로 실행된 검색 SQL(searchByWhereCondition, searchByBuilder, searchComplex)을 EXPLAIN 하여 테이블 전체 읽기(tableScan)가 없는지 확인한다. <br/>
+ * (조건 작성 방식 BooleanBuilder/BooleanExpression, 엔드포인트와 관계없이 같은 조건은 같은 실행계획을 써야 한다) <br/>
+ * shape 0(조건 없음)은 회원 전체를 읽는 것이 정상이므로 팀 조인이 PK를 사용하는지만 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class MemberSearchIndexTest {
+    private static final String TABLE_SCAN = ".tableScan";
+
+    @Autowired MemberJpaRepositroy memberJpaRepositroy;
+    @Autowired MemberRepository memberRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired IndexCheck indexCheck;
+
+    @Test
+    public void declaredIndexesExist() throws Exception {
+        assertThat(indexCheck.findMissingIndexes()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15})
+    public void searchUsesIndex(int shape) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        if ((shape & 1) != 0) {
+            condition.setUsername("Member31");
+        }
+        if ((shape & 2) != 0) {
+            condition.setTeamName("teamB");
+        }
+        if ((shape & 4) != 0) {
+            condition.setAgeGoe(31);
+        }
+        if ((shape & 8) != 0) {
+            condition.setAgeLoe(35);
+        }
+
+        assertUsesIndex(shape, "searchByWhereCondition", () -> memberJpaRepositroy.searchByWhereCondition(condition));
+        assertUsesIndex(shape, "searchByBuilder", () -> memberJpaRepositroy.searchByBuilder(condition));
+        assertUsesIndex(shape, "searchComplex", () -> memberRepository.searchComplex(condition, PageRequest.of(0, 10)));
+    }
+
+    /** 검색이 실행한 SQL(content, count) 모두 EXPLAIN */
+    private void assertUsesIndex(int shape, String name, Runnable search) {
+        SqlStatementMonitor.begin(name);
+        search.run();
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+        List<String> sqls = List.copyOf(statistics.getExecutions().keySet());
+        assertThat(sqls).isNotEmpty();
+
+        for (String sql : sqls) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            System.out.println(name + " shape " + shape + " = " + plan);
+            if (shape == 0) {
+                assertThat(plan).as(name).doesNotContainIgnoringCase("TEAM" + TABLE_SCAN);
+            } else {
+                assertThat(plan).as(name).doesNotContainIgnoringCase(TABLE_SCAN);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamSummaryDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitor.SqlStatementMonitor;
+import study.querydsl.monitor.SqlStatementStatistics;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @PersistenceUnit
+    EntityManagerFactory emf;
+
+    @Autowired TeamRepository teamRepository;
+
+    /**
+     * 연관관계 배치 조회 - 팀 목록의 회원 컬렉션을 IN 쿼리 1회로 초기화
+     */
+    @Test
+    public void initializeMembers() {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("Member" + i, i * 10, team));
+            em.persist(new Member("Member" + i + "-" + i, i * 10 + 1, team));
+        }
+        em.flush();
+        em.clear();
+
+        List<Team> teams = teamRepository.findAll();
+        SqlStatementMonitor.begin("initializeMembers");
+        teamRepository.initializeMembers(teams);
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+
+        assertThat(statistics.getStatementCount()).isEqualTo(1);
+        for (Team findTeam : teams) {
+            assertThat(emf.getPersistenceUnitUtil().isLoaded(findTeam, "members")).isTrue();
+            assertThat(findTeam.getMembers()).hasSize(2);
+        }
+    }
+
+    /**
+     * 팀별 회원 집계 - 컬렉션 로딩 없이 group by 1회
+     */
+    @Test
+    public void summarize() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Team teamC = new Team("teamC");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+        em.persist(new Member("Member1", 10, teamA));
+        em.persist(new Member("Member2", 20, teamA));
+        em.persist(new Member("Member3", 30, teamB));
+        em.persist(new Member("Member4", 40, teamB));
+        em.flush();
+        em.clear();
+
+        List<TeamSummaryDto> result = teamRepository.summarize();
+
+        assertThat(result).extracting("teamName").containsExactly("teamA", "teamB", "teamC");
+        TeamSummaryDto summaryA = result.get(0);
+        assertThat(summaryA.getMemberCount()).isEqualTo(2);
+        assertThat(summaryA.getAvgAge()).isEqualTo(15);
+        assertThat(summaryA.getMinAge()).isEqualTo(10);
+        assertThat(summaryA.getMaxAge()).isEqualTo(20);
+        assertThat(result.get(2).getMemberCount()).isEqualTo(0); // 회원이 없는 팀
+    }
+}
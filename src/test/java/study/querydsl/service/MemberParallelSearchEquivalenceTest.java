@@ -0,0 +1,141 @@
+package study.querydsl.service;
+
+import com.querydsl.core.types.OrderSpecifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepositroy;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 병렬 분할 조회(parallel=true)와 단일 쿼리 조회의 결과 비교 (실제 DB) <br/>
+ * 구간 조회는 다른 스레드의 트랜잭션에서 실행되므로 데이터를 커밋하고 테스트 후 직접 정리한다. <br/>
+ * 정렬 결과는 DB가 한 번에 정렬한 결과와 같아야 한다. (Java 병합 비교와 DB 콜레이션이 어긋나면 실패)
+ */
+@SpringBootTest(properties = "querydsl.parallel-search.min-partition-size=1")
+@AutoConfigureMockMvc
+class MemberParallelSearchEquivalenceTest {
+    /** 대소문자, 기호, 악센트가 섞인 회원명 (문자열 정렬 기준 확인) */
+    static final String[] USERNAMES = {"member", "Member", "MEMBER", "_member", "member-1", "member10", "member2",
+            "émile", "Zed", "zed", "a", "B", "ä", "1member", " member"};
+
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired MemberJpaRepositroy memberJpaRepositroy;
+    @Autowired MemberParallelSearchService memberParallelSearchService;
+    @Autowired MockMvc mockMvc;
+
+    TransactionTemplate transaction;
+    List<Long> teamIds = new ArrayList<>();
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("Team-b");
+            em.persist(teamA);
+            em.persist(teamB);
+            teamIds.add(teamA.getId());
+            teamIds.add(teamB.getId());
+            for (int i = 0; i < 60; i++) {
+                Team team = i % 5 == 0 ? null : i % 2 == 0 ? teamA : teamB;
+                Member member = new Member(USERNAMES[i % USERNAMES.length], i % 7 * 10, team);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transaction.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.id in :memberIds") // 공유 DB : 이 테스트가 넣은 회원만 삭제
+                    .setParameter("memberIds", memberIds)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id in :teamIds")
+                    .setParameter("teamIds", teamIds)
+                    .executeUpdate();
+        });
+    }
+
+    /**
+     * 정렬이 없으면 같은 행을 회원 식별자 순서로 반환한다.
+     */
+    @Test
+    public void unsortedReturnsSameRowsInIdOrder() {
+        for (MemberSearchCondition condition : conditions()) {
+            List<MemberTeamDto> parallel = memberParallelSearchService.search(condition, Sort.unsorted());
+
+            assertThat(parallel).containsExactlyInAnyOrderElementsOf(memberJpaRepositroy.searchByWhereCondition(condition));
+            assertThat(parallel).isSortedAccordingTo(Comparator.comparing(MemberTeamDto::getMemberId));
+        }
+    }
+
+    /**
+     * 정렬이 있으면 DB가 한 번에 정렬한 결과와 순서까지 같다.
+     */
+    @Test
+    public void sortedMatchesDatabaseOrder() {
+        List<Sort> sorts = List.of(
+                Sort.by(Sort.Order.asc("username")),
+                Sort.by(Sort.Order.desc("username")),
+                Sort.by(Sort.Order.asc("teamName"), Sort.Order.desc("age")),
+                Sort.by(Sort.Order.desc("teamName"), Sort.Order.asc("username")),
+                Sort.by(Sort.Order.desc("memberId")));
+        for (MemberSearchCondition condition : conditions()) {
+            for (Sort sort : sorts) {
+                OrderSpecifier<?>[] orders = MemberParallelSearchService.SortProperty.of(sort).stream()
+                        .map(MemberParallelSearchService.SortProperty.Direction::orderSpecifier)
+                        .toArray(OrderSpecifier[]::new);
+                List<MemberTeamDto> expected = memberJpaRepositroy.searchByWhereConditionInRange(condition, Long.MIN_VALUE, Long.MAX_VALUE, orders);
+
+                assertThat(memberParallelSearchService.search(condition, sort))
+                        .as("%s %s", condition, sort)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    /**
+     * 정렬할 수 없는 속성은 400
+     */
+    @Test
+    public void unknownSortPropertyIsBadRequest() throws Exception {
+        assertThatThrownBy(() -> memberParallelSearchService.search(new MemberSearchCondition(), Sort.by("password")))
+                .isInstanceOf(UnsupportedSortPropertyException.class);
+        mockMvc.perform(get("/v1/members").param("parallel", "true").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<MemberSearchCondition> conditions() {
+        MemberSearchCondition all = new MemberSearchCondition();
+        MemberSearchCondition byTeam = new MemberSearchCondition();
+        byTeam.setTeamName("teamA");
+        MemberSearchCondition byAge = new MemberSearchCondition();
+        byAge.setAgeGoe(20);
+        byAge.setAgeLoe(40);
+        return List.of(all, byTeam, byAge);
+    }
+}
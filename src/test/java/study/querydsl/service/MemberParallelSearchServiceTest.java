@@ -0,0 +1,45 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberParallelSearchServiceTest {
+
+    /**
+     * (0, 100] 구간을 4개로 : 빈틈/중복 없이 이어진다.
+     */
+    @Test
+    public void partitionCoversRange() {
+        List<long[]> partitions = MemberParallelSearchService.partition(0, 100, 4, 10);
+
+        assertThat(partitions).hasSize(4);
+        assertThat(partitions.get(0)[0]).isEqualTo(0);
+        assertThat(partitions.get(3)[1]).isEqualTo(100);
+        for (int i = 1; i < partitions.size(); i++) {
+            assertThat(partitions.get(i)[0]).isEqualTo(partitions.get(i - 1)[1]);
+        }
+    }
+
+    /**
+     * 구간이 최소 크기보다 작으면 나누지 않는다.
+     */
+    @Test
+    public void smallRangeIsNotPartitioned() {
+        assertThat(MemberParallelSearchService.partition(0, 15, 8, 10)).hasSize(1);
+    }
+
+    @Test
+    public void mergeSortedKeepsOrder() {
+        List<Integer> merged = MemberParallelSearchService.mergeSorted(List.of(
+                List.of(1, 4, 7),
+                List.of(),
+                List.of(2, 5, 8),
+                List.of(3, 6, 9)), Comparator.naturalOrder());
+
+        assertThat(merged).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+}
@@ -0,0 +1,78 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.scheduler.Schedulers;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitor.SqlStatementMonitor;
+import study.querydsl.monitor.SqlStatementStatistics;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테스트 트랜잭션의 데이터를 보기 위해 같은 스레드(Schedulers.immediate)에서 구독한다.
+ */
+@SpringBootTest
+@Transactional
+class MemberSearchStreamServiceTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired MemberSearchStreamService memberSearchStreamService;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 묶음(3건) 단위로 끝까지 조회 : 10건 -> 쿼리 4회
+     */
+    @Test
+    public void streamAllChunks() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        SqlStatementMonitor.begin("streamAllChunks");
+        List<MemberTeamDto> result = memberSearchStreamService.search(condition, 3, Schedulers.immediate())
+                .collectList()
+                .block();
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+
+        assertThat(result).extracting("username")
+                .containsExactly("member0", "member1", "member2", "member3", "member4",
+                        "member5", "member6", "member7", "member8", "member9");
+        assertThat(statistics.getStatementCount()).isEqualTo(4);
+    }
+
+    /**
+     * 소비자가 2건만 요청하면 첫 묶음만 조회한다. (back-pressure)
+     */
+    @Test
+    public void slowConsumerLimitsQueries() {
+        SqlStatementMonitor.begin("slowConsumerLimitsQueries");
+        List<MemberTeamDto> result = memberSearchStreamService.search(new MemberSearchCondition(), 3, Schedulers.immediate())
+                .take(2)
+                .collectList()
+                .block();
+        SqlStatementStatistics statistics = SqlStatementMonitor.end();
+
+        assertThat(result).hasSize(2);
+        assertThat(statistics.getStatementCount()).isEqualTo(1);
+    }
+}
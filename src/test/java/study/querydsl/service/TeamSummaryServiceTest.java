@@ -0,0 +1,120 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.TeamSummaryDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepositroy;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 캐시 무효화는 커밋 후에 일어나므로 테스트 트랜잭션(롤백) 없이 실행하고 직접 정리한다. <br/>
+ * (정리는 벌크 delete라 엔티티 이벤트가 없으므로 직접 비운다)
+ */
+@SpringBootTest
+class TeamSummaryServiceTest {
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired TeamSummaryService teamSummaryService;
+    @Autowired MemberJpaRepositroy memberJpaRepositroy;
+
+    TransactionTemplate transaction;
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        transaction = new TransactionTemplate(transactionManager);
+        teamId = transaction.execute(status -> {
+            Team team = new Team("summaryTeam");
+            em.persist(team);
+            em.persist(new Member("summary1", 10, team));
+            return team.getId();
+        });
+        teamSummaryService.evict();
+    }
+
+    @AfterEach
+    public void after() {
+        transaction.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id = :teamId").setParameter("teamId", teamId).executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId").setParameter("teamId", teamId).executeUpdate();
+        });
+        teamSummaryService.evict();
+    }
+
+    /**
+     * 캐시된 집계는 회원 저장(커밋) 후 다시 계산된다.
+     */
+    @Test
+    public void evictAfterWrite() {
+        assertThat(summary().getMemberCount()).isEqualTo(1);
+        assertThat(teamSummaryService.findSummaries()).isSameAs(teamSummaryService.findSummaries()); // 캐시
+
+        memberJpaRepositroy.saveWithTeamId("summary2", 30, teamId);
+
+        TeamSummaryDto summary = summary();
+        assertThat(summary.getMemberCount()).isEqualTo(2);
+        assertThat(summary.getMaxAge()).isEqualTo(30);
+    }
+
+    /**
+     * 리포지토리 메소드를 거치지 않는 변경 감지(setter) update도 커밋 후 캐시를 비운다.
+     */
+    @Test
+    public void evictAfterDirtyChecking() {
+        assertThat(summary().getMaxAge()).isEqualTo(10);
+        assertThat(teamSummaryService.findSummaries()).isSameAs(teamSummaryService.findSummaries()); // 캐시
+
+        transaction.executeWithoutResult(status -> em
+                .createQuery("select m from Member m where m.team.id = :teamId", Member.class)
+                .setParameter("teamId", teamId)
+                .getResultList()
+                .forEach(member -> member.setAge(40)));
+
+        assertThat(summary().getMaxAge()).isEqualTo(40);
+    }
+
+    /**
+     * 롤백된 변경은 캐시를 비우지 않는다.
+     */
+    @Test
+    public void keepAfterRollback() {
+        List<TeamSummaryDto> cached = teamSummaryService.findSummaries();
+
+        transaction.executeWithoutResult(status -> {
+            em.find(Team.class, teamId).setName("rollbackTeam");
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(teamSummaryService.findSummaries()).isSameAs(cached);
+    }
+
+    /**
+     * 캐시된 목록은 변경할 수 없다.
+     */
+    @Test
+    public void cachedSummariesAreImmutable() {
+        List<TeamSummaryDto> summaries = teamSummaryService.findSummaries();
+        assertThatThrownBy(() -> summaries.add(summaries.get(0))).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(summaries::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private TeamSummaryDto summary() {
+        return teamSummaryService.findSummaries().stream()
+                .filter(summary -> summary.getTeamId().equals(teamId))
+                .findFirst()
+                .orElseThrow();
+    }
+}